@@ -0,0 +1,106 @@
+package pawjump.game;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulation ticks and collision passes. The level sets the speed multiplier
+ * (1.0x at level 1 up to 2.8x at level 10), which changes how often
+ * obstacles and items spawn and despawn.
+ *
+ * A tick takes a few microseconds, far too little for JMH to time one at a
+ * time, so each invocation runs a batch of TICKS_PER_OP and reports per
+ * tick. update() times whole ticks, the autopilot's input and restarts after
+ * game over included; they are a scan of the stores and a rare restart, a
+ * small share of GameManager.update(). checkCollisions() keeps its own
+ * simulation moving and adds a second collision pass to each tick, so it
+ * less update() is the cost of a pass over a fresh scene, without the hits
+ * the tick's own pass has already taken.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameManagerBenchmark {
+    private static final long SEED = 42;
+    private static final int TICKS_PER_OP = 100;
+
+    @Param({"1", "3", "6", "10"})
+    public int level;
+
+    private HeadlessSimulation simulation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulation = startSimulation(level);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulation.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS_PER_OP)
+    public long update() {
+        for (int i = 0; i < TICKS_PER_OP; i++) {
+            simulation.prepareTick();
+            simulation.advance();
+        }
+        return simulation.getTicks();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS_PER_OP)
+    public GameManager checkCollisions(CollisionScene scene) {
+        GameManager gameManager = scene.simulation.getGameManager();
+        for (int i = 0; i < TICKS_PER_OP; i++) {
+            scene.simulation.tick();
+            gameManager.checkCollisions();
+        }
+        return gameManager;
+    }
+
+    // A simulation of its own, so checkCollisions() sees the same run whether or not update() ran first
+    @State(Scope.Thread)
+    public static class CollisionScene {
+        @Param({"1", "3", "6", "10"})
+        public int level;
+
+        private HeadlessSimulation simulation;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            simulation = startSimulation(level);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            simulation.close();
+        }
+    }
+
+    private static HeadlessSimulation startSimulation(int level) {
+        HeadlessSimulation simulation = new HeadlessSimulation(SEED, level);
+        // Get past the first obstacle spawn so every op sees a populated scene
+        for (int i = 0; i < 200; i++) {
+            simulation.tick();
+        }
+        return simulation;
+    }
+}
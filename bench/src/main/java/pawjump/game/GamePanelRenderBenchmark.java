@@ -0,0 +1,73 @@
+package pawjump.game;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pawjump.game.utils.Constants;
+
+/**
+ * A full GamePanel frame painted offscreen into a screen-sized BufferedImage.
+ * Runs headless, so it measures the software loops; on-screen blits to an
+ * accelerated surface will be cheaper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GamePanelRenderBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private HeadlessSimulation simulation;
+    private GamePanel panel;
+    private BufferedImage frame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulation = new HeadlessSimulation(SEED, level);
+        panel = new GamePanel(simulation.getGameManager());
+        panel.setSize(Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
+        frame = new BufferedImage(Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulation.close();
+    }
+
+    // Move the scene along between iterations so frames aren't all identical
+    @Setup(Level.Iteration)
+    public void advance() {
+        for (int i = 0; i < 120; i++) {
+            simulation.tick();
+        }
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            panel.paintComponent(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,36 @@
+package pawjump.game.animation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pawjump.game.utils.Constants;
+
+/**
+ * Cost of building animators the way entities do on spawn (shared frames from
+ * SpriteSheetCache) versus slicing a sprite sheet from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SpriteAnimatorBenchmark {
+    @Benchmark
+    public SpriteAnimator constructFromCache() {
+        return new SpriteAnimator(SpriteSheetCache.get(Constants.OBSTACLE_BIRD_SHEET, 6), Constants.BIRD_ANIM_DELAY, true);
+    }
+
+    @Benchmark
+    public SpriteSheet sliceSheet() {
+        SpriteSheetCache.clear(); // Decoded sheet image stays cached in AssetLoader, so this measures slicing only
+        return SpriteSheetCache.get(Constants.OBSTACLE_BIRD_SHEET, 6);
+    }
+}
@@ -0,0 +1,40 @@
+package pawjump.game.audio;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What a play call costs the game tick: posting the command while the audio
+ * thread drains the queue and mixes in the background, into a null output
+ * so no sound card is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AudioEngineBenchmark {
+    private AudioEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new AudioEngine("null");
+    }
+
+    @Benchmark
+    public AudioEngine play() {
+        engine.play(SoundEffect.FISH);
+        return engine;
+    }
+}
@@ -0,0 +1,68 @@
+package pawjump.game.audio;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pawjump.game.utils.Constants;
+
+/**
+ * Resampling one block of music, which the audio thread does once per deck
+ * every AUDIO_BUFFER_FRAMES (11.6 ms at 512 frames and 44.1 kHz); under
+ * 116 us per op is under 1% of a core. "glide" keeps the rate moving between
+ * the slowest and fastest music rates, so every block ramps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ResamplerBenchmark {
+    @Param({"1.0", "1.5", "glide"})
+    public String rate;
+
+    private Resampler resampler;
+    private PcmRing ring;
+    private short[] source;
+    private short[] out;
+    private int sourcePosition;
+    private long blocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int frames = Constants.AUDIO_BUFFER_FRAMES;
+        resampler = new Resampler(frames, Constants.AUDIO_MUSIC_MAX_RATE, Constants.AUDIO_MUSIC_RATE_GLIDE_MS * Constants.AUDIO_SAMPLE_RATE / 1000f);
+        ring = new PcmRing(Constants.AUDIO_MUSIC_RING_FRAMES * 2);
+        source = new short[frames * 2];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (short) (Math.sin(i * 0.01) * 8000);
+        }
+        out = new short[frames * 2];
+        if (!rate.equals("glide")) {
+            resampler.setTargetRate(Float.parseFloat(rate));
+        }
+    }
+
+    @Benchmark
+    public short[] process() {
+        // Tops the ring up the way the decoder thread would
+        while (ring.free() >= source.length) {
+            ring.write(source, 0, source.length);
+        }
+        if (rate.equals("glide") && (blocks++ & 31) == 0) {
+            resampler.setTargetRate((blocks & 32) == 0 ? Constants.AUDIO_MUSIC_MIN_RATE : Constants.AUDIO_MUSIC_MAX_RATE);
+        }
+        resampler.process(ring, out, Constants.AUDIO_BUFFER_FRAMES);
+        return out;
+    }
+}
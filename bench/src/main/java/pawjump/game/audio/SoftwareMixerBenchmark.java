@@ -0,0 +1,61 @@
+package pawjump.game.audio;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pawjump.game.utils.Constants;
+
+/**
+ * Mixing one block with a looping voice and a few effects sounding, the audio thread's
+ * work per AUDIO_BUFFER_FRAMES, from raw or compressed samples. Samples are
+ * synthetic so no assets or sound card are needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SoftwareMixerBenchmark {
+    @Param({"1", "4", "8"})
+    public int effects;
+
+    @Param({"false", "true"})
+    public boolean compressed; // IMA-ADPCM decoded as it plays, as shipped sounds are
+
+    private SoftwareMixer mixer;
+    private Sample tone;
+    private byte[] block;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        short[] data = new short[Constants.AUDIO_SAMPLE_RATE * 2]; // One second
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short) (Math.sin(i * 0.01) * 8000);
+        }
+        tone = compressed ? new Sample(ImaAdpcm.encode(data, 2, Constants.AUDIO_SAMPLE_RATE)) : new Sample(data);
+        mixer = new SoftwareMixer(Constants.AUDIO_MIXER_VOICES, Constants.AUDIO_BUFFER_FRAMES);
+        block = new byte[Constants.AUDIO_BUFFER_FRAMES * 4];
+        mixer.play(tone, Constants.AUDIO_MUSIC_VOLUME, true, SoundEffect.COUNT, 1); // A looping voice in place of the music
+    }
+
+    @Benchmark
+    public byte[] mix() {
+        // Keeps the effects sounding; a voice finishing would just free its slot
+        while (mixer.getActiveVoices() < effects + 1) {
+            mixer.play(tone, 0.8f, false, mixer.getActiveVoices() % SoundEffect.COUNT, Constants.AUDIO_MIXER_VOICES);
+        }
+        mixer.mix(block, Constants.AUDIO_BUFFER_FRAMES);
+        return block;
+    }
+}
@@ -0,0 +1,57 @@
+package pawjump.game.entities;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pawjump.game.utils.Constants;
+
+/**
+ * The per-tick loops over a stress-sized store: saving previous positions,
+ * moving, and the collision pre-pass against the player's column. Entities
+ * are spread far to the right so none leave the screen during a run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EntityStoreBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int entities;
+
+    private EntityStore<Obstacle> store;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = new EntityStore<>(Constants.ENTITY_STORE_CAPACITY);
+        for (int i = 0; i < entities; i++) {
+            double x = Constants.SCREEN_WIDTH + i * 200.0;
+            Obstacle obs = i % 3 == 0 ? new BirdObstacle(x, Constants.GROUND_Y - 260) : new BushObstacle(x, Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT);
+            store.add(obs, obs.getType());
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        store.savePreviousPositions();
+        store.update(0.001); // Barely moves, so the population stays the same for the whole iteration
+        int near = 0;
+        for (int i = 0; i < store.size(); i++) {
+            if (store.reaches(i, Constants.PLAYER_START_X, Constants.PLAYER_START_X + Constants.PLAYER_WIDTH * 3)) {
+                near++;
+            }
+        }
+        return near;
+    }
+}
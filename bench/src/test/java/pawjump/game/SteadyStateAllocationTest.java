@@ -0,0 +1,69 @@
+package pawjump.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import pawjump.game.entities.EntityPool;
+
+/**
+ * Guards the allocation-free tick: the pools are filled when the game is
+ * built, so no tick may construct an entity, and once update() is compiled a
+ * stretch of play must not allocate on the tick thread. Runs two seeds, so it
+ * doesn't hang on one level layout.
+ * Only GameManager.update() is measured; the autopilot's input and restarts
+ * after game over run outside the measured window, as in GameManagerBenchmark,
+ * and so does the tick a run ends on, which logs why.
+ */
+class SteadyStateAllocationTest {
+    private static final int WARMUP_TICKS = 20_000; // Gets update() compiled
+    private static final int MEASURED_TICKS = 50_000;
+    private static final long ALLOCATION_BUDGET_BYTES = 4 * 1024; // Slack for the JIT rematerializing an object on a deopt
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void enableAllocationCounting() {
+        System.setProperty("java.awt.headless", "true");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"42, 1", "42, 6", "7, 1", "7, 6"})
+    void updateAllocatesNothingOnceWarm(long seed, int level) {
+        HeadlessSimulation simulation = new HeadlessSimulation(seed, level);
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            simulation.tick();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            simulation.prepareTick();
+            boolean wasRunning = simulation.getGameManager().isRunning();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            simulation.advance();
+            long bytes = threads.getThreadAllocatedBytes(threadId) - before;
+            if (wasRunning && simulation.getGameManager().isRunning()) {
+                allocated += bytes;
+            }
+        }
+
+        simulation.close();
+        assertEquals(0, totalMisses(simulation), "entities constructed during play");
+        assertTrue(allocated <= ALLOCATION_BUDGET_BYTES,
+                "update() allocated " + allocated + " bytes over " + MEASURED_TICKS + " warm ticks");
+    }
+
+    private static long totalMisses(HeadlessSimulation simulation) {
+        long misses = 0;
+        for (EntityPool<?> pool : simulation.getGameManager().getEntityPools()) {
+            misses += pool.getMisses();
+        }
+        return misses;
+    }
+}
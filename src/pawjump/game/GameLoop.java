@@ -0,0 +1,90 @@
+package pawjump.game;
+
+import pawjump.game.utils.Constants;
+
+/**
+ * Fixed-timestep game loop. The simulation always advances in steps of
+ * GAME_TICK_MS, while frames are rendered as often as the display allows and
+ * interpolate between the last two ticks.
+ */
+public class GameLoop implements Runnable {
+    private static final long TICK_NANOS = Constants.GAME_TICK_MS * 1_000_000L;
+    private static final long MAX_FRAME_NANOS = TICK_NANOS * Constants.MAX_CATCH_UP_TICKS;
+
+    private final GamePanel panel;
+    private volatile boolean running;
+    private Thread thread;
+
+    public GameLoop(GamePanel panel) {
+        this.panel = panel;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        // A loop that stopped itself (game over) may still be finishing its last frame
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        running = true;
+        thread = new Thread(this, "PawJump-GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running) {
+            long frameStart = System.nanoTime();
+            long elapsed = frameStart - previous;
+            previous = frameStart;
+
+            // After a long stall (window drag, GC, debugger) drop the excess instead of fast-forwarding through it
+            if (elapsed > MAX_FRAME_NANOS) {
+                elapsed = MAX_FRAME_NANOS;
+            }
+            accumulator += elapsed;
+
+            int ticks = 0;
+            while (accumulator >= TICK_NANOS && ticks < Constants.MAX_CATCH_UP_TICKS && running) {
+                panel.tick();
+                accumulator -= TICK_NANOS;
+                ticks++;
+            }
+
+            panel.renderFrame((double) accumulator / TICK_NANOS);
+
+            // Don't render faster than the display refreshes
+            long minFrameNanos = panel.getMinFrameNanos();
+            if (minFrameNanos > 0) {
+                long frameEnd = frameStart + minFrameNanos;
+                while (running && System.nanoTime() < frameEnd - 1_000_000L) {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+}
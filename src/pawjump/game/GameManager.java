@@ -1,17 +1,18 @@
 package pawjump.game;
 
-import java.awt.Rectangle;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Random;
 import pawjump.game.entities.BirdObstacle;
 import pawjump.game.entities.BushObstacle;
 import pawjump.game.entities.ChasingCharacter;
+import pawjump.game.entities.Entity;
+import pawjump.game.entities.EntityPool;
+import pawjump.game.entities.EntityStore;
+import pawjump.game.entities.EntityType;
 import pawjump.game.entities.MovingGroundObstacle;
 import pawjump.game.entities.Obstacle;
 import pawjump.game.entities.Player;
@@ -19,15 +20,47 @@ import pawjump.game.entities.items.Fish;
 import pawjump.game.entities.items.Item;
 import pawjump.game.entities.items.Meat;
 import pawjump.game.entities.items.Suplemen;
+import pawjump.game.level.LevelChunk;
+import pawjump.game.level.LevelGenerator;
+import pawjump.game.level.LevelStream;
 import pawjump.game.utils.AudioManager;
+import pawjump.game.utils.AudioSink;
+import pawjump.game.utils.CollisionDetector;
+import pawjump.game.utils.CollisionMask;
 import pawjump.game.utils.Constants;
+import pawjump.game.utils.GameClock;
+import pawjump.game.utils.StateHash;
 
 public class GameManager {
     private Player player;
-    private List<Obstacle> obstacles;
-    private List<Item> items;
+    private EntityStore<Obstacle> obstacles;
+    private EntityStore<Item> items;
+    // Spare entities per type; the stores hand removed entities back to them
+    private final EntityPool<BushObstacle> bushPool = new EntityPool<>(() -> new BushObstacle(0, 0), Constants.ENTITY_POOL_CAPACITY);
+    private final EntityPool<BirdObstacle> birdPool = new EntityPool<>(() -> new BirdObstacle(0, 0), Constants.ENTITY_POOL_CAPACITY);
+    private final EntityPool<MovingGroundObstacle> movingGroundPool =
+            new EntityPool<>(() -> new MovingGroundObstacle(0, 0, 0, 0, 1), Constants.ENTITY_POOL_CAPACITY);
+    private final EntityPool<Fish> fishPool = new EntityPool<>(() -> new Fish(0, 0), Constants.ENTITY_POOL_CAPACITY);
+    private final EntityPool<Meat> meatPool = new EntityPool<>(() -> new Meat(0, 0), Constants.ENTITY_POOL_CAPACITY);
+    private final EntityPool<Suplemen> suplemenPool = new EntityPool<>(() -> new Suplemen(0, 0), Constants.ENTITY_POOL_CAPACITY);
+    private final EntityPool<?>[] pools = new EntityPool<?>[EntityType.COUNT];
     private ChasingCharacter chasingCharacter;
-    private AudioManager audioManager;
+    private AudioSink audioManager;
+    private final CollisionDetector collisionDetector = new CollisionDetector();
+
+    // Obstacles and items come from pre-built chunks, spawned as the run reaches them
+    private final LevelStream levelStream;
+    private LevelChunk levelChunk; // Chunk being spawned from, or null until the next one is taken
+    private int levelEvent; // Next spawn in levelChunk
+
+    // Determinism: every random decision derives from the run seed, every timed effect from the clock
+    private final GameClock clock;
+    private Random random;
+    private long runSeed;
+
+    // Input is queued from the UI thread and applied at the start of the next tick
+    private volatile boolean jumpQueued;
+    private volatile boolean fallQueued;
 
     private int score;
     private int currentLevel;
@@ -41,32 +74,69 @@ public class GameManager {
 
     // Level up and item tracking
     private boolean levelUpMessageActive;
-    private long levelUpMessageStartTime;
+    private long levelUpMessageStartTick;
     private int fishCollectedThisLevel;
     private boolean levelUpRequiredThisPhase; // If player must collect fish to pass
     private boolean levelUpFailedThisPhase;
 
-    // Item spawning state (per phase/level)
-    private int fishPhase; // Tracks 250m phases for fish spawning
-    private int meatPhase;
-    private int meatAppearCountThisPhase;
+    // Phase tracking (every 250m)
+    private int fishPhase; // Tracks 250m phases for the fish requirement
     private int suplemenPhase;
-    private int suplemenAppearCountThisPhase;
     
-    private GamePanel gamePanelRef; // Reference to GamePanel to request focus or other panel actions
+    private GamePanel gamePanelRef; // Reference to GamePanel to request focus or other panel actions, null when headless
+    private boolean persistHighScore = true;
 
     public GameManager(GamePanel gamePanelRef) {
+        this(gamePanelRef, AudioManager.getInstance(), System.nanoTime());
+    }
+
+    // Headless runs pass a null panel and a NullAudioSink; the same seed and inputs replay the same run
+    public GameManager(GamePanel gamePanelRef, AudioSink audioSink, long seed) {
+        this(gamePanelRef, audioSink, seed, !Constants.SYNC_LEVEL_GENERATION);
+    }
+
+    // backgroundLevelGeneration picks where chunks are built; the run is the same either way
+    public GameManager(GamePanel gamePanelRef, AudioSink audioSink, long seed, boolean backgroundLevelGeneration) {
         this.gamePanelRef = gamePanelRef;
-        this.player = new Player(Constants.PLAYER_START_X, Constants.PLAYER_START_Y);
-        this.obstacles = new ArrayList<>();
-        this.items = new ArrayList<>();
+        this.clock = new GameClock();
+        this.runSeed = seed;
+        this.player = new Player(Constants.PLAYER_START_X, Constants.PLAYER_START_Y, clock);
+        this.levelStream = new LevelStream(backgroundLevelGeneration, player.getReach());
+        pools[EntityType.BUSH] = bushPool;
+        pools[EntityType.BIRD] = birdPool;
+        pools[EntityType.MOVING_GROUND] = movingGroundPool;
+        pools[EntityType.FISH] = fishPool;
+        pools[EntityType.MEAT] = meatPool;
+        pools[EntityType.SUPLEMEN] = suplemenPool;
+        this.obstacles = new EntityStore<>(Constants.ENTITY_STORE_CAPACITY, pools);
+        this.items = new EntityStore<>(Constants.ENTITY_STORE_CAPACITY, pools);
+        preparePools();
         this.chasingCharacter = new ChasingCharacter();
-        this.audioManager = AudioManager.getInstance();
+        this.audioManager = audioSink;
         loadHighScore();
         initializeNewGame();
     }
 
+    /**
+     * Fills every pool with as many entities of its type as the level can
+     * have in play at once, and builds their masks on one of each, so no tick
+     * constructs an entity or builds a mask.
+     */
+    private void preparePools() {
+        for (int type = 0; type < EntityType.COUNT; type++) {
+            EntityPool<?> pool = pools[type];
+            pool.fill(LevelGenerator.maxInPlay(type));
+            Entity entity = pool.acquire();
+            entity.prepareCollisionMasks();
+            pool.release(entity);
+        }
+    }
+
     private void initializeNewGame() {
+        this.random = new Random(runSeed);
+        this.clock.reset();
+        this.jumpQueued = false;
+        this.fallQueued = false;
         this.player.resetState();
         this.obstacles.clear();
         this.items.clear();
@@ -90,23 +160,27 @@ public class GameManager {
         this.levelUpFailedThisPhase = false;
 
         this.fishPhase = 0;
-        this.meatPhase = 0;
-        this.meatAppearCountThisPhase = 0;
         this.suplemenPhase = 0;
-        this.suplemenAppearCountThisPhase = 0;
 
-        initFirstObstacle();
-        // Initial items will be spawned by update based on score 0
-        
+        restartLevel();
+
         // Start background music
         audioManager.startBackgroundMusic();
     }
 
     public void restartGame() {
-        initializeNewGame();
+        // Derive the next run's seed from this run so a whole session replays from the first seed
+        restartGame(random.nextLong());
+    }
+
+    public void restartGame(long seed) {
+        synchronized (this) { // The game loop thread ticks under this lock
+            this.runSeed = seed;
+            initializeNewGame();
+        }
         if (gamePanelRef != null) {
              gamePanelRef.resetBackgroundAndPlatform(); // Tell panel to reset its visuals
-             gamePanelRef.restartGameTimer(); // Restart the game timer
+             gamePanelRef.restartGameLoop(); // Restart the game loop
              gamePanelRef.requestFocusForGame();
         }
     }
@@ -133,6 +207,9 @@ public class GameManager {
     }
 
     public void update() {
+        clock.advance();
+        savePreviousPositions();
+
         if (!isRunning) {
             if (isGameOver && player.isDying() && player.isDeathAnimationDone()) {
                  // Death animation finished, game over screen should be shown by GamePanel
@@ -142,24 +219,26 @@ public class GameManager {
             return;
         }
 
+        applyQueuedInput();
+
         // Update score and level
-        double distanceThisFrame = (Constants.BASE_SPEED / 50.0) * 0.5; // Original calculation for score increment
-        accumulatedDistance += distanceThisFrame;
+        accumulatedDistance += Constants.METERS_PER_TICK;
         score = (int) Math.floor(accumulatedDistance);
 
         int newLevel = (int) (accumulatedDistance / Constants.METERS_PER_LEVEL) + 1;
         if (newLevel > currentLevel) {
             currentLevel = newLevel;
             levelUpMessageActive = true;
-            levelUpMessageStartTime = System.currentTimeMillis();
+            levelUpMessageStartTick = clock.getTick();
             // Reset per-level item counts if necessary, or handle phase transitions
         }
         speedMultiplier = 1.0 + Constants.SPEED_INCREMENT_PER_LEVEL * (currentLevel - 1);
         
         // Apply meat effect speed reduction (25% slower)
         if (player.isMeatEffectActive()) {
-            speedMultiplier *= 0.75; // Reduce speed by 25%
+            speedMultiplier *= Constants.MEAT_EFFECT_SPEED_FACTOR;
         }
+        audioManager.setMusicSpeed(speedMultiplier);
         
         isDay = ((score / Constants.METERS_PER_LEVEL) % 2 == 0);
 
@@ -179,18 +258,10 @@ public class GameManager {
             fishPhase = currentFishPhase;
         }
         
-        // Meat phase
-        int currentMeatPhase = score / Constants.METERS_PER_LEVEL;
-        if (currentMeatPhase > meatPhase) {
-            meatPhase = currentMeatPhase;
-            meatAppearCountThisPhase = 0;
-        }
-
         // Suplemen phase
         int currentSuplemenPhase = score / Constants.METERS_PER_LEVEL;
         if (currentSuplemenPhase > suplemenPhase) {
             suplemenPhase = currentSuplemenPhase;
-            suplemenAppearCountThisPhase = 0;
             player.setSuplemenEffectActive(false); // Suplemen effect wears off at phase end
             player.setSuplemenEffectUsed(false);
         }
@@ -208,192 +279,226 @@ public class GameManager {
             chasingCharacter.updateChasing(player, Constants.BASE_SPEED * speedMultiplier, score);
         }
 
-        // Spawn entities
-        spawnObstaclesIfNeeded();
-        spawnItemsIfNeeded();
-
-        // Update obstacles
-        Iterator<Obstacle> obsIterator = obstacles.iterator();
-        while (obsIterator.hasNext()) {
-            Obstacle obs = obsIterator.next();
-            obs.move(Constants.BASE_SPEED, speedMultiplier);
-            obs.updateSpecific(); // For moving obstacles
-            if (obs.isOffScreen()) {
-                obsIterator.remove();
-            }
-        }
-
-        // Update items
-        Iterator<Item> itemIterator = items.iterator();
-        while (itemIterator.hasNext()) {
-            Item item = itemIterator.next();
-            item.move(Constants.BASE_SPEED, speedMultiplier);
-            // item.update(); // If items have own update logic beyond moving
-            if (!item.isActive()) { // Off-screen or collected
-                itemIterator.remove();
-            }
-        }
+        // Spawn whatever the level places up to here, then move obstacles and items,
+        // dropping those that left the screen or were collected
+        double scroll = Constants.BASE_SPEED * speedMultiplier;
+        spawnFromLevel(scroll);
+        obstacles.update(scroll);
+        items.update(scroll);
 
         // Check collisions
         checkCollisions();
 
         // Update level up message visibility
-        if (levelUpMessageActive && System.currentTimeMillis() - levelUpMessageStartTime > Constants.LEVEL_UP_MSG_DURATION_MS) {
+        if (levelUpMessageActive && clock.ticksSince(levelUpMessageStartTick) > Constants.LEVEL_UP_MSG_DURATION_TICKS) {
             levelUpMessageActive = false;
         }
     }
 
-    private void initFirstObstacle() {
-        obstacles.add(createObstacle(Constants.SCREEN_WIDTH));
+    // Jumps straight to the start of a level, so soak tests and benchmarks can exercise late-game speeds
+    public synchronized void fastForwardToLevel(int level) {
+        this.accumulatedDistance = (level - 1) * (double) Constants.METERS_PER_LEVEL;
+        this.score = (int) accumulatedDistance;
+        this.currentLevel = level;
+        this.speedMultiplier = 1.0 + Constants.SPEED_INCREMENT_PER_LEVEL * (currentLevel - 1);
+        this.isDay = ((score / Constants.METERS_PER_LEVEL) % 2 == 0);
+        this.fishPhase = level - 1;
+        this.suplemenPhase = level - 1;
+        restartLevel();
     }
 
-    private Obstacle createObstacle(double xPos) {
-        if (levelUpRequiredThisPhase) return null; // Don't spawn new obstacles during fish collection check period
-
-        double r = Math.random();
-        boolean allowFloating = score >= Constants.OBSTACLE_FLOAT_MIN_SCORE;
-        boolean allowMoving = score >= Constants.OBSTACLE_MOVING_MIN_SCORE;
-        double floatChance = allowFloating ? Constants.OBSTACLE_FLOAT_CHANCE : 0.0;
-        double movingChance = allowMoving ? Constants.OBSTACLE_MOVING_CHANCE : 0.0;
-
-        int obsY;
-        if (r < floatChance) {
-            obsY = Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT - Constants.OBSTACLE_FLOAT_GAP_FROM_GROUND;
-            return new BirdObstacle(xPos, obsY);
-        } else if (r < floatChance + movingChance) {
-            int minY = Constants.GROUND_Y + Constants.OBSTACLE_MOVE_MIN_Y_OFFSET - Constants.OBSTACLE_HEIGHT;
-            int maxY = Constants.GROUND_Y + Constants.OBSTACLE_MOVE_MAX_Y_OFFSET - Constants.OBSTACLE_HEIGHT;
-            if (minY < 0) minY = 0;
-            if (maxY < minY) maxY = minY + 1; // Ensure range
-            obsY = maxY - (maxY - minY) / 2; // Start in middle
-            int initialMoveDir = Math.random() < 0.5 ? 1 : -1;
-            // Clamp so the obstacle doesn't go below the platform
-            if (obsY > Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT) obsY = Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT;
-            return new MovingGroundObstacle(xPos, obsY, minY, maxY, initialMoveDir);
-        } else {
-            obsY = Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT;
-            return new BushObstacle(xPos, obsY);
-        }
+    public void queueJump() {
+        jumpQueued = true;
     }
-    
-    private void spawnObstaclesIfNeeded() {
-        // Only allow one obstacle at a time, like the reference
-        if (obstacles.isEmpty() || (obstacles.get(obstacles.size() - 1).getX() < Constants.SCREEN_WIDTH - Constants.OBSTACLE_SPAWN_GAP - Constants.OBSTACLE_WIDTH)) {
-            // Remove all obstacles that are off-screen (should already be handled in update, but ensure only one remains)
-            obstacles.removeIf(Obstacle::isOffScreen);
-            if (obstacles.size() < 1) {
-                Obstacle newObs = createObstacle(Constants.SCREEN_WIDTH);
-                if (newObs != null) obstacles.add(newObs);
-            }
-        }
+
+    public void queueFall() {
+        fallQueued = true;
     }
-    
-    private boolean isItemYValid(int candidateY, int candidateH, List<Item> currentItems, int minDist) {
-        for (Item item : currentItems) {
-            if (item.isActive()) {
-                 // Simple vertical separation check (original was more complex, adapting)
-                Rectangle newItemRect = new Rectangle(0, candidateY, 1, candidateH);
-                Rectangle existingItemRect = new Rectangle(0, (int)item.getY(), 1, item.getHeight());
-                if (newItemRect.y < existingItemRect.y + existingItemRect.height + minDist &&
-                    newItemRect.y + newItemRect.height + minDist > existingItemRect.y) {
-                    return false; // Overlap or too close
-                }
-            }
+
+    private void applyQueuedInput() {
+        if (jumpQueued) {
+            jumpQueued = false;
+            player.jump();
+        }
+        if (fallQueued) {
+            fallQueued = false;
+            player.fall();
         }
-        // Also check against player jump height for accessibility (simplified)
-        // int jumpHeight = 225;
-        // int marginAbovePlatform = 60;
-        // if(candidateY < Constants.GROUND_Y - candidateH - jumpHeight || candidateY > Constants.GROUND_Y - candidateH - marginAbovePlatform) return false;
+    }
 
-        return true;
+    // Snapshot positions so the renderer can interpolate between this tick and the next
+    private void savePreviousPositions() {
+        player.savePreviousPosition();
+        if (chasingCharacter != null) {
+            chasingCharacter.savePreviousPosition();
+        }
+        obstacles.savePreviousPositions();
+        items.savePreviousPositions();
     }
 
+    // Starts spawning from the chunk the run is in now, with whatever was queued for the old position dropped
+    private void restartLevel() {
+        if (levelChunk != null) {
+            levelStream.release(levelChunk);
+            levelChunk = null;
+        }
+        levelStream.restart(runSeed, LevelChunk.indexAt(accumulatedDistance));
+    }
 
-    private void spawnItemsIfNeeded() {
-        // Simplified spawning logic; original was tied to score thresholds within phases.
-        // Fish (1 per phase, if not already active and phase allows)
-        int phaseStart = fishPhase * Constants.METERS_PER_LEVEL;
-        if (score >= phaseStart && score < phaseStart + Constants.METERS_PER_LEVEL) {
-            boolean fishAlreadyActive = items.stream().anyMatch(item -> item instanceof Fish && item.isActive());
-            if (!fishAlreadyActive && !levelUpRequiredThisPhase) { // Don't spawn new fish if checking for current phase completion
-                int y = Constants.GROUND_Y - Constants.ITEM_HEIGHT - 50 - (int)(Math.random() * 150); // Random Y
-                if (isItemYValid(y, Constants.ITEM_HEIGHT, items, 20)) {
-                     items.add(new Fish(Constants.SCREEN_WIDTH + 50, y));
+    // Spawns everything the level places up to the distance covered so far; a chunk at a time, never waiting on the generator
+    private void spawnFromLevel(double scroll) {
+        while (true) {
+            if (levelChunk == null) {
+                levelChunk = levelStream.take(LevelChunk.indexAt(accumulatedDistance));
+                if (levelChunk == null) {
+                    return; // Not generated yet; once it is, its spawns enter as far in as they would have come
                 }
+                levelEvent = 0;
+            }
+            while (levelEvent < levelChunk.size() && levelChunk.getMeter(levelEvent) <= accumulatedDistance) {
+                // Entities enter at the right edge when the run reaches their meter; place them as far in as they've come since
+                double ticksLate = (accumulatedDistance - levelChunk.getMeter(levelEvent)) / Constants.METERS_PER_TICK;
+                spawnLevelEvent(levelEvent, Constants.SCREEN_WIDTH - ticksLate * scroll);
+                levelEvent++;
             }
+            if (levelEvent < levelChunk.size() || accumulatedDistance < levelChunk.getEndMeter()) {
+                return;
+            }
+            levelStream.release(levelChunk);
+            levelChunk = null;
         }
+    }
 
+    private void spawnLevelEvent(int event, double x) {
+        int type = levelChunk.getType(event);
+        int y = levelChunk.getY(event);
+        if (levelUpRequiredThisPhase && (type == EntityType.FISH || !EntityType.isItem(type))) {
+            return; // No new obstacles or fish during the fish collection check
+        }
+        switch (type) {
+            case EntityType.BUSH:
+                BushObstacle bush = bushPool.acquire();
+                bush.reset(x, y);
+                addObstacle(bush);
+                break;
+            case EntityType.BIRD:
+                BirdObstacle bird = birdPool.acquire();
+                bird.reset(x, y);
+                addObstacle(bird);
+                break;
+            case EntityType.MOVING_GROUND:
+                MovingGroundObstacle moving = movingGroundPool.acquire();
+                moving.reset(x, y, LevelGenerator.MOVING_MIN_Y, LevelGenerator.MOVING_MAX_Y, levelChunk.getDirection(event));
+                addObstacle(moving);
+                break;
+            case EntityType.FISH:
+                spawnItem(fishPool, x, y);
+                break;
+            case EntityType.MEAT:
+                spawnItem(meatPool, x, y);
+                break;
+            case EntityType.SUPLEMEN:
+                spawnItem(suplemenPool, x, y);
+                break;
+            default:
+                break;
+        }
+    }
 
-        // Meat (2 per phase at specific score points if not already active)
-        phaseStart = meatPhase * Constants.METERS_PER_LEVEL;
-        int[] meatSpawnScores = { phaseStart + Constants.MEAT_SPAWN_OFFSET_1, phaseStart + Constants.MEAT_SPAWN_OFFSET_2 };
-        boolean meatAlreadyActive = items.stream().anyMatch(item -> item instanceof Meat && item.isActive());
-
-        if (!meatAlreadyActive && meatAppearCountThisPhase < 2) {
-            if (meatAppearCountThisPhase == 0 && score >= meatSpawnScores[0] && score < meatSpawnScores[1]) {
-                 int y = Constants.GROUND_Y - Constants.ITEM_HEIGHT - 50 - (int)(Math.random() * 150);
-                 if (isItemYValid(y, Constants.ITEM_HEIGHT, items, 20)) {
-                    items.add(new Meat(Constants.SCREEN_WIDTH + 100, y));
-                    meatAppearCountThisPhase++;
-                 }
-            } else if (meatAppearCountThisPhase == 1 && score >= meatSpawnScores[1] && score < (meatPhase + 1) * Constants.METERS_PER_LEVEL) {
-                 int y = Constants.GROUND_Y - Constants.ITEM_HEIGHT - 50 - (int)(Math.random() * 150);
-                 if (isItemYValid(y, Constants.ITEM_HEIGHT, items, 20)) {
-                    items.add(new Meat(Constants.SCREEN_WIDTH + 100, y));
-                    meatAppearCountThisPhase++;
-                 }
-            }
+    private void addObstacle(Obstacle obs) {
+        int slot = obstacles.add(obs, obs.getType());
+        if (obs instanceof MovingGroundObstacle) {
+            MovingGroundObstacle moving = (MovingGroundObstacle) obs;
+            obstacles.setBounce(slot, moving.getVelocityY(), moving.getMinY(), moving.getMaxY());
         }
+    }
 
-        // Suplemen (1 per phase at specific score point if not already active)
-        phaseStart = suplemenPhase * Constants.METERS_PER_LEVEL;
-        int suplemenSpawnScore = phaseStart + Constants.SUPLEMEN_SPAWN_OFFSET;
-        boolean suplemenAlreadyActive = items.stream().anyMatch(item -> item instanceof Suplemen && item.isActive());
+    private void spawnItem(EntityPool<? extends Item> pool, double x, int y) {
+        Item item = pool.acquire();
+        item.reset(x, y);
+        items.add(item, item.getType());
+    }
 
-        if (!suplemenAlreadyActive && suplemenAppearCountThisPhase < 1 && score >= suplemenSpawnScore && score < (suplemenPhase + 1) * Constants.METERS_PER_LEVEL) {
-            int y = Constants.GROUND_Y - Constants.ITEM_HEIGHT - 50 - (int)(Math.random() * 150);
-            if (isItemYValid(y, Constants.ITEM_HEIGHT, items, 20)) {
-                items.add(new Suplemen(Constants.SCREEN_WIDTH + 150, y));
-                suplemenAppearCountThisPhase++;
-            }
+    void checkCollisions() { // Package-private for the collision benchmark
+        // Player's swept extent along x; only entities that can reach it are registered with their masks
+        CollisionMask playerMask = player.getCollisionMask();
+        double playerLeft = Math.min(player.getPrevX(), player.getX());
+        double playerRight = Math.max(player.getPrevX(), player.getX());
+        if (playerMask != null) {
+            playerLeft += player.getCollisionMaskX() + playerMask.getLeft();
+            playerRight += player.getCollisionMaskX() + playerMask.getLeft() + playerMask.getWidth();
+        } else {
+            playerRight += player.getWidth();
         }
-    }
 
+        collisionDetector.clear();
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (obstacles.reaches(i, playerLeft, playerRight)) {
+                addCollider(CollisionDetector.KIND_OBSTACLE, i, obstacles);
+            }
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (items.reaches(i, playerLeft, playerRight)) {
+                addCollider(CollisionDetector.KIND_ITEM, i, items);
+            }
+        }
 
-    private void checkCollisions() {
-        // Player vs Obstacles
-        Iterator<Obstacle> obsIterator = obstacles.iterator();
-        while (obsIterator.hasNext()) {
-            Obstacle obs = obsIterator.next();
-            if (player.collidesWith(obs)) {
-                if (player.isImmuneFromSuplemen()) {
-                    player.consumeSuplemenShield();
-                    // Remove the obstacle that was hit by the immune player
-                    obsIterator.remove();
-                    // Spawn a new obstacle immediately to maintain gameplay flow
-                    Obstacle newObs = createObstacle(Constants.SCREEN_WIDTH + Constants.OBSTACLE_SPAWN_GAP);
-                    if (newObs != null) {
-                        obstacles.add(newObs);
-                    }
-                } else {
-                    player.takeDamage();
-                    audioManager.playHurtSound(); // Play hurt sound
-                    // Trigger chasing character when player takes damage
-                    if (chasingCharacter != null && !chasingCharacter.isActive()) {
-                        chasingCharacter.startChasing(player, score);
-                    }
+        // Swept over the whole tick's motion, so fast obstacles can't skip past the player between ticks,
+        // and tested against the sprites' opaque pixels once their boxes meet.
+        // Contacts come back obstacles first, each kind in slot order
+        int contacts;
+        if (playerMask != null) {
+            int maskX = player.getCollisionMaskX();
+            int maskY = player.getCollisionMaskY();
+            contacts = collisionDetector.query(player.getPrevX() + maskX, player.getPrevY() + maskY,
+                    player.getX() + maskX, player.getY() + maskY, playerMask);
+        } else {
+            contacts = collisionDetector.query(player.getPrevX(), player.getPrevY(), player.getX(), player.getY(),
+                    player.getWidth(), player.getHeight());
+        }
+        boolean obstacleHit = false;
+        for (int c = 0; c < contacts; c++) {
+            int index = collisionDetector.getContactIndex(c);
+            if (collisionDetector.getContactKind(c) == CollisionDetector.KIND_OBSTACLE) {
+                if (!obstacleHit) { // Process one collision per frame to avoid multiple damage from same group
+                    obstacleHit = true;
+                    handleObstacleHit(index);
+                }
+            } else {
+                Item item = items.get(index);
+                item.applyEffect(player, this); // Item applies its effect and marks itself collected
+                if (!item.isActive()) {
+                    items.markRemoved(index); // Culled on the next update; slots stay valid for the other contacts
                 }
-                break; // Process one collision per frame to avoid multiple damage from same group
             }
         }
+    }
+
+    private void addCollider(int kind, int slot, EntityStore<?> store) {
+        Entity entity = store.get(slot);
+        CollisionMask mask = entity.getCollisionMask();
+        if (mask != null) {
+            int maskX = entity.getCollisionMaskX();
+            int maskY = entity.getCollisionMaskY();
+            collisionDetector.add(kind, slot, store.getPrevX(slot) + maskX, store.getPrevY(slot) + maskY,
+                    store.getX(slot) + maskX, store.getY(slot) + maskY, mask);
+        } else {
+            collisionDetector.add(kind, slot, store.getPrevX(slot), store.getPrevY(slot), store.getX(slot), store.getY(slot),
+                    store.getWidth(slot), store.getHeight(slot));
+        }
+    }
 
-        // Player vs Items
-        Iterator<Item> itemIterator = items.iterator();
-        while (itemIterator.hasNext()) {
-            Item item = itemIterator.next();
-            if (item.isActive() && player.collidesWith(item)) {
-                item.applyEffect(player, this); // Item applies its effect
-                // Item is marked as collected within applyEffect, loop will remove it if !isActive
+    private void handleObstacleHit(int index) {
+        if (player.isImmuneFromSuplemen()) {
+            player.consumeSuplemenShield();
+            // Remove the obstacle that was hit by the immune player; the level already has the next one lined up
+            obstacles.remove(index);
+        } else {
+            player.takeDamage();
+            audioManager.playHurtSound(); // Play hurt sound
+            // Trigger chasing character when player takes damage
+            if (chasingCharacter != null && !chasingCharacter.isActive()) {
+                chasingCharacter.startChasing(player, score);
             }
         }
     }
@@ -415,17 +520,75 @@ public class GameManager {
         audioManager.playGameOverSound(); // Play game over sound and stop background music
         if (this.score > this.highScore) {
             this.highScore = this.score;
-            saveHighScore();
+            if (persistHighScore) {
+                saveHighScore();
+            }
         }
         if (!player.isDying()) { // If game over was not due to health reaching 0 (e.g. fish fail)
              player.startDying(); // Start death animation
         }
     }
 
+    /**
+     * Fingerprint of everything that determines how the run continues. Two runs
+     * with the same seed and inputs must produce the same hash on every tick.
+     */
+    public long computeStateHash() {
+        long h = StateHash.SEED;
+        h = StateHash.mix(h, clock.getTick());
+        h = StateHash.mix(h, accumulatedDistance);
+        h = StateHash.mix(h, speedMultiplier);
+        h = StateHash.mix(h, ((long) score << 32) | currentLevel);
+        h = StateHash.mix(h, ((long) fishCollectedThisLevel << 32) | levelEvent);
+        h = StateHash.mix(h, isRunning);
+        h = StateHash.mix(h, isGameOver);
+        h = StateHash.mix(h, levelUpMessageActive);
+
+        h = StateHash.mix(h, player.getX());
+        h = StateHash.mix(h, player.getY());
+        h = StateHash.mix(h, player.getVelocityY());
+        h = StateHash.mix(h, player.getHealth());
+        h = StateHash.mix(h, player.isMeatEffectActive());
+        h = StateHash.mix(h, player.isSuplemenEffectActive());
+        h = StateHash.mix(h, player.isSuplemenEffectUsed());
+
+        if (chasingCharacter != null) {
+            h = StateHash.mix(h, chasingCharacter.isActive());
+            h = StateHash.mix(h, chasingCharacter.getX());
+        }
+        for (int i = 0; i < obstacles.size(); i++) {
+            h = StateHash.mix(h, obstacles.getType(i));
+            h = StateHash.mix(h, obstacles.getX(i));
+            h = StateHash.mix(h, obstacles.getY(i));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            h = StateHash.mix(h, items.getType(i));
+            h = StateHash.mix(h, items.getX(i));
+            h = StateHash.mix(h, items.getY(i));
+            h = StateHash.mix(h, !items.isRemoved(i));
+        }
+        return h;
+    }
+
+    // Simulations and benchmarks shouldn't overwrite the player's real high score
+    public void setPersistHighScore(boolean persistHighScore) {
+        this.persistHighScore = persistHighScore;
+    }
+
+    // Stops the level generator thread; the manager can't run another game afterwards
+    public void close() {
+        levelStream.close();
+    }
+
     // Getters for GamePanel, HUD, etc.
+    public AudioSink getAudio() { return audioManager; }
+    public GameClock getClock() { return clock; }
+    public long getRunSeed() { return runSeed; }
     public Player getPlayer() { return player; }
-    public List<Obstacle> getObstacles() { return obstacles; }
-    public List<Item> getItems() { return items; }
+    public EntityStore<Obstacle> getObstacles() { return obstacles; }
+    public EntityStore<Item> getItems() { return items; }
+    public EntityPool<?>[] getEntityPools() { return pools; } // Indexed by EntityType
+    public LevelStream getLevelStream() { return levelStream; }
     public ChasingCharacter getChasingCharacter() { return chasingCharacter; }
     public int getScore() { return score; }
     public int getCurrentLevel() { return currentLevel; }
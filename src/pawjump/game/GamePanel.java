@@ -1,29 +1,35 @@
 package pawjump.game;
 
-import java.awt.AlphaComposite;
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.RadialGradientPaint;
+import java.awt.DisplayMode;
+import java.awt.GraphicsConfiguration;
 import java.awt.RenderingHints;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.awt.geom.Area;
-import java.awt.geom.Ellipse2D;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
-import javax.swing.Timer;
+import pawjump.game.entities.EntityStore;
 import pawjump.game.entities.Obstacle;
+import pawjump.game.entities.items.Item;
+import pawjump.game.render.ActiveRenderCanvas;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.CompatibleImages;
+import pawjump.game.render.FrameStats;
+import pawjump.game.render.ScrollingLayer;
+import pawjump.game.render.SpotlightOverlay;
+import pawjump.game.ui.DebugOverlay;
 import pawjump.game.ui.GameOverScreen;
 import pawjump.game.ui.HUD; // For getWindowAncestor
 import pawjump.game.utils.Constants; // For casting window ancestor
 
-public class GamePanel extends JPanel implements ActionListener, KeyListener {
-    private Timer timer;
+public class GamePanel extends JPanel implements KeyListener {
+    private GameLoop gameLoop;
     private GameManager gameManager;
     private HUD hud;
     private GameOverScreen gameOverScreen;
@@ -31,112 +37,276 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     private Image dayBgImage;
     private Image nightBgImage;
     private Image platformImage;
+    private ScrollingLayer dayBgLayer; // Pre-composited strips the scenery scrolls through
+    private ScrollingLayer nightBgLayer;
+    private ScrollingLayer platformLayer;
+    private final SpotlightOverlay spotlightOverlay = new SpotlightOverlay(Constants.SUPLEMEN_SPOTLIGHT_RADIUS, Constants.SUPLEMEN_OVERLAY_ALPHA);
     private double bgX; // Background X position for scrolling
     private double platformX; // Platform X position for scrolling
+    private double prevBgX, prevPlatformX; // Scroll positions at the start of the tick, for interpolation
+
+    private volatile double renderAlpha = 1.0; // Interpolation factor of the frame being painted
+    private final Object frameLock = new Object();
+    private boolean framePainted;
+
+    private volatile ActiveRenderCanvas activeCanvas; // Null when using the passive paintComponent path
+    private final FrameStats frameStats = new FrameStats();
+    private final DebugOverlay debugOverlay = new DebugOverlay();
+    private volatile boolean debugOverlayVisible = Constants.SHOW_DEBUG_OVERLAY;
+    private volatile long minFrameNanos; // From the display's refresh rate, 0 while unknown
 
     public GamePanel() {
+        this.gameManager = new GameManager(this); // Pass reference to itself
+        initPanel();
+        gameLoop.start();
+    }
+
+    // Renders an existing simulation without starting the game loop, e.g. offscreen in benchmarks
+    GamePanel(GameManager gameManager) {
+        this.gameManager = gameManager;
+        initPanel();
+    }
+
+    private void initPanel() {
         setPreferredSize(new java.awt.Dimension(Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT));
         setBackground(Color.BLACK);
         setFocusable(true);
 
-        this.gameManager = new GameManager(this); // Pass reference to itself
         this.hud = new HUD();
         this.gameOverScreen = new GameOverScreen(gameManager); // Pass GameManager to GameOverScreen
 
         loadResources();
         resetBackgroundAndPlatform();
 
+        if (Constants.ACTIVE_RENDERING) {
+            setLayout(new BorderLayout());
+            activeCanvas = new ActiveRenderCanvas(this::renderActiveFrame);
+            add(activeCanvas, BorderLayout.CENTER);
+        }
+
         addKeyListener(this);
-        timer = new Timer(Constants.GAME_TICK_MS, this);
-        timer.start();
+        // Moving to another screen changes the pixel format; rebuild sprites for it before the next frame
+        addPropertyChangeListener("graphicsConfiguration", e -> {
+            synchronized (gameManager) {
+                CompatibleImages.setTargetConfiguration(getGraphicsConfiguration());
+            }
+            updateMinFrameNanos();
+        });
+        BlitStats.setEnabled(debugOverlayVisible);
+        gameLoop = new GameLoop(this);
     }
 
     private void loadResources() {
         dayBgImage = pawjump.game.utils.AssetLoader.loadImage(Constants.DAY_BG_IMG);
         nightBgImage = pawjump.game.utils.AssetLoader.loadImage(Constants.NIGHT_BG_IMG);
         platformImage = pawjump.game.utils.AssetLoader.loadImage(Constants.PLATFORM_IMG);
+
+        dayBgLayer = new ScrollingLayer(dayBgImage, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
+        nightBgLayer = new ScrollingLayer(nightBgImage, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
+        platformLayer = new ScrollingLayer(platformImage, platformImage.getWidth(null), platformImage.getHeight(null));
     }
     
     public void resetBackgroundAndPlatform() {
-        this.bgX = 0;
-        this.platformX = 0;
+        synchronized (gameManager) {
+            this.bgX = 0;
+            this.platformX = 0;
+            this.prevBgX = 0;
+            this.prevPlatformX = 0;
+        }
     }
 
     public void requestFocusForGame() {
         requestFocusInWindow();
     }
 
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (gameManager.isRunning()) {
-            gameManager.update();
-        } else if (gameManager.isGameOver()) {
-            // If player death animation is handled internally and GameManager signals when it's truly over for dialog
-            if (gameManager.getPlayer().isDeathAnimationDone() && !gameOverScreen.isVisible()) {
-                 timer.stop(); // Stop game updates before showing dialog
-                 JFrame parentFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
-                 gameOverScreen.show(parentFrame);
-                 // Timer will be restarted by GameManager if "retry" is chosen
-            } else if (gameManager.getPlayer().isDying()) {
-                gameManager.getPlayer().update(); // Keep updating player for death animation
+    // Runs one fixed simulation step on the game loop thread
+    void tick() {
+        boolean showGameOver = false;
+        synchronized (gameManager) {
+            if (gameManager.isGameOver() && gameManager.getPlayer().isDeathAnimationDone()) {
+                showGameOver = true;
+            } else {
+                gameManager.update(); // Also keeps the death animation going once the run has ended
             }
+            advanceScroll();
+        }
+
+        if (showGameOver) {
+            gameLoop.stop(); // Stop game updates before showing dialog
+            SwingUtilities.invokeLater(() -> {
+                if (!gameOverScreen.isVisible()) {
+                    JFrame parentFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
+                    gameOverScreen.show(parentFrame);
+                    // Loop will be restarted by GameManager if "retry" is chosen
+                }
+            });
         }
-        repaint();
     }
-    
-    public void startGameTimer() {
-        if (!timer.isRunning()) {
-            timer.start();
+
+    private void advanceScroll() {
+        prevBgX = bgX;
+        bgX -= Constants.BASE_SPEED * gameManager.getSpeedMultiplier() * 0.025; // Parallax speed
+        if (bgX <= -Constants.SCREEN_WIDTH) {
+            bgX += Constants.SCREEN_WIDTH;
+            prevBgX += Constants.SCREEN_WIDTH; // Wrap the previous position too so interpolation doesn't jump
+        }
+
+        prevPlatformX = platformX;
+        platformX -= Constants.BASE_SPEED * gameManager.getSpeedMultiplier(); // Platform moves left
+        int platformImgW = platformImage.getWidth(null);
+        if (platformImgW > 0 && platformX <= -platformImgW) {
+            platformX += platformImgW;
+            prevPlatformX += platformImgW;
         }
     }
 
-    // Add method to restart the timer after game restart
-    public void restartGameTimer() {
-        timer.start();
+    // Called by the game loop thread once per frame
+    void renderFrame(double alpha) {
+        ActiveRenderCanvas canvas = activeCanvas;
+        if (canvas != null && canvas.isReady()) {
+            if (!canvas.isAccelerated()) {
+                fallBackToPassiveRendering();
+            } else if (canvas.render(alpha)) {
+                frameStats.framePresented();
+                return;
+            }
+        }
+        requestPassiveFrame(alpha);
+    }
+
+    private void renderActiveFrame(Graphics2D g2d, double alpha) {
+        applyRenderingHints(g2d);
+        synchronized (gameManager) {
+            renderScene(g2d, alpha);
+        }
+    }
+
+    // Hands the panel back to paintComponent when page flipping can't be accelerated on this device
+    private void fallBackToPassiveRendering() {
+        ActiveRenderCanvas canvas = activeCanvas;
+        activeCanvas = null;
+        frameStats.reset();
+        System.err.println("Accelerated page flipping unavailable, falling back to passive rendering");
+        SwingUtilities.invokeLater(() -> {
+            remove(canvas);
+            revalidate();
+            requestFocusForGame();
+        });
+    }
+
+    private String getRenderModeName() {
+        ActiveRenderCanvas canvas = activeCanvas;
+        if (canvas != null && canvas.isReady()) {
+            return "active (" + canvas.getBufferCount() + " buffers)";
+        }
+        return "passive (Swing repaint)";
+    }
+
+    // Paints on the EDT and waits (at most one tick) for the frame to land
+    private void requestPassiveFrame(double alpha) {
+        synchronized (frameLock) {
+            renderAlpha = alpha;
+            framePainted = false;
+        }
+        repaint();
+        synchronized (frameLock) {
+            long deadline = System.currentTimeMillis() + Constants.GAME_TICK_MS;
+            long remaining = Constants.GAME_TICK_MS;
+            while (!framePainted && remaining > 0) {
+                try {
+                    frameLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+    }
+
+    // Shortest time between frames the display can show, 0 if the refresh rate is unknown
+    long getMinFrameNanos() {
+        return minFrameNanos;
+    }
+
+    // Querying the display mode can go out to the window system, so it's only done when the panel changes screens
+    private void updateMinFrameNanos() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        int refreshRate = gc == null ? DisplayMode.REFRESH_RATE_UNKNOWN : gc.getDevice().getDisplayMode().getRefreshRate();
+        minFrameNanos = refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? 0 : 1_000_000_000L / refreshRate;
+    }
+
+    public void startGameLoop() {
+        gameLoop.start();
+    }
+
+    // Add method to restart the loop after game restart
+    public void restartGameLoop() {
+        gameLoop.start();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
+    public void addNotify() {
+        super.addNotify();
+        updateMinFrameNanos();
+    }
+
+    // The panel only leaves its window when the window is disposed, which ends the game for good
+    @Override
+    public void removeNotify() {
+        gameLoop.stop();
+        gameManager.close();
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) { // Protected, which also lets the offscreen render benchmark in this package call it
         super.paintComponent(g);
+        if (activeCanvas != null) {
+            return; // The canvas covers the panel and presents its own frames
+        }
         Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        applyRenderingHints(g2d);
 
-        // Draw Background
-        Image currentBg = gameManager.isDay() ? dayBgImage : nightBgImage;
-        double bgSpeed = Constants.BASE_SPEED * gameManager.getSpeedMultiplier() * 0.025; // Parallax speed
-        bgX -= bgSpeed;
-        if (bgX <= -Constants.SCREEN_WIDTH) {
-            bgX += Constants.SCREEN_WIDTH;
+        synchronized (gameManager) {
+            renderScene(g2d, renderAlpha);
         }
-        g2d.drawImage(currentBg, (int) bgX, 0, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT, null);
-        if (bgX < 0) { // Draw second image for seamless loop
-            g2d.drawImage(currentBg, (int) bgX + Constants.SCREEN_WIDTH, 0, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT, null);
+        Toolkit.getDefaultToolkit().sync(); // Flush the frame now instead of whenever the window system gets to it
+        frameStats.framePresented();
+
+        synchronized (frameLock) {
+            framePainted = true;
+            frameLock.notifyAll();
         }
+    }
+
+    private void applyRenderingHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    }
+
+    // Draws the whole scene interpolated between the previous and current tick
+    private void renderScene(Graphics2D g2d, double alpha) {
+        BlitStats.beginFrame();
+
+        // Draw Background (second copy for a seamless loop is handled by the layer)
+        ScrollingLayer currentBg = gameManager.isDay() ? dayBgLayer : nightBgLayer;
+        double drawBgX = prevBgX + (bgX - prevBgX) * alpha;
+        currentBg.draw(g2d, drawBgX, 0, Constants.SCREEN_WIDTH);
 
 
         // Draw Items (before platform, if they can be behind it, or after player if always in front)
-        for (pawjump.game.entities.items.Item item : gameManager.getItems()) {
-            item.draw(g2d, 1.0); // Items don't typically scale with player effects
+        EntityStore<Item> items = gameManager.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).draw(g2d, 1.0, alpha); // Items don't typically scale with player effects
         }
 
         // Draw Platform (Ground)
-        double platSpeed = Constants.BASE_SPEED * gameManager.getSpeedMultiplier();
-        platformX -= platSpeed; // Platform moves left
-        int platformImgW = platformImage.getWidth(null);
-        int platformImgH = platformImage.getHeight(null);
-        if (platformImgW > 0 && platformImgH > 0) {
-            if (platformX <= -platformImgW) {
-                platformX += platformImgW;
-            }
+        if (platformLayer.isValid()) {
+            double drawPlatformX = prevPlatformX + (platformX - prevPlatformX) * alpha;
             // Draw so the BOTTOM of the platform image aligns with GROUND_Y, but shift image 120px lower
-            int platformDrawY = Constants.GROUND_Y - platformImgH + 120;
-            for (int px = (int) platformX; px < Constants.SCREEN_WIDTH; px += platformImgW) {
-                g2d.drawImage(platformImage, px, platformDrawY, platformImgW, platformImgH, null);
-            }
-            if (platformX > 0) {
-                g2d.drawImage(platformImage, (int) platformX - platformImgW, platformDrawY, platformImgW, platformImgH, null);
-            }
+            int platformDrawY = Constants.GROUND_Y - platformImage.getHeight(null) + 120;
+            platformLayer.draw(g2d, drawPlatformX, platformDrawY, Constants.SCREEN_WIDTH);
         } else { // Fallback solid ground
             g2d.setColor(Color.DARK_GRAY);
             g2d.fillRect(0, Constants.GROUND_Y, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT - Constants.GROUND_Y);
@@ -145,89 +315,61 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
         // Draw Player
         if (gameManager.getPlayer() != null) {
-            gameManager.getPlayer().draw(g2d, 1.0); // Player class handles its own scaling
+            gameManager.getPlayer().draw(g2d, 1.0, alpha); // Player class handles its own scaling
         }
 
         // Draw Chasing Character (behind obstacles)
         if (gameManager.getChasingCharacter() != null && gameManager.getChasingCharacter().isActive()) {
-            gameManager.getChasingCharacter().draw(g2d, 1.0);
+            gameManager.getChasingCharacter().draw(g2d, 1.0, alpha);
         }
 
         // Draw Obstacles
-        for (Obstacle obs : gameManager.getObstacles()) {
-            obs.draw(g2d, 1.0);
+        EntityStore<Obstacle> obstacles = gameManager.getObstacles();
+        for (int i = 0; i < obstacles.size(); i++) {
+            obstacles.get(i).draw(g2d, 1.0, alpha);
         }
 
         // Draw supplement effect overlay (dark surroundings with spotlight)
-        drawSuplemenEffect(g2d);
+        drawSuplemenEffect(g2d, alpha);
 
         // Draw HUD
         if (hud != null) {
             hud.draw(g2d, gameManager, gameManager.getPlayer());
         }
 
-        g2d.dispose(); // Dispose of graphics context copy if one was made internally. Usually not needed for `g` from paintComponent.
+        if (debugOverlayVisible) {
+            debugOverlay.draw(g2d, getRenderModeName(), frameStats, gameManager);
+        }
     }
 
-    private void drawSuplemenEffect(Graphics2D g2d) {
+    private void drawSuplemenEffect(Graphics2D g2d, double alpha) {
         if (gameManager.getPlayer() != null && gameManager.getPlayer().isSuplemenEffectActive() && !gameManager.getPlayer().isSuplemenEffectUsed()) {
-            // Save original composite and clip
-            java.awt.Composite oldComposite = g2d.getComposite();
-            java.awt.Shape oldClip = g2d.getClip();
-            
             // Get player center position
-            int playerCenterX = (int) (gameManager.getPlayer().getX() + gameManager.getPlayer().getWidth() / 2);
-            int playerCenterY = (int) (gameManager.getPlayer().getY() + gameManager.getPlayer().getHeight() / 2);
-            
-            // Create a radial gradient for smooth spotlight effect
-            java.awt.RadialGradientPaint gradient = new java.awt.RadialGradientPaint(
-                playerCenterX, playerCenterY, Constants.SUPLEMEN_SPOTLIGHT_RADIUS,
-                new float[]{0.0f, 0.7f, 1.0f},
-                new java.awt.Color[]{
-                    new java.awt.Color(0, 0, 0, 0),           // Fully transparent at center
-                    new java.awt.Color(0, 0, 0, 0),           // Still transparent at 70%
-                    new java.awt.Color(0, 0, 0, (int)(255 * Constants.SUPLEMEN_OVERLAY_ALPHA))  // Dark at edges
-                }
-            );
-            
-            // Fill the entire screen with the gradient
-            g2d.setPaint(gradient);
-            g2d.fillRect(0, 0, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
-            
-            // Also add a general dark overlay outside the gradient radius for consistent darkness
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Constants.SUPLEMEN_OVERLAY_ALPHA));
-            g2d.setColor(new java.awt.Color(0, 0, 0));
-            
-            // Create a circular area to exclude from the dark overlay
-            java.awt.geom.Area fullScreen = new java.awt.geom.Area(new java.awt.Rectangle(0, 0, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT));
-            java.awt.geom.Area spotlight = new java.awt.geom.Area(new java.awt.geom.Ellipse2D.Double(
-                playerCenterX - Constants.SUPLEMEN_SPOTLIGHT_RADIUS,
-                playerCenterY - Constants.SUPLEMEN_SPOTLIGHT_RADIUS,
-                Constants.SUPLEMEN_SPOTLIGHT_RADIUS * 2,
-                Constants.SUPLEMEN_SPOTLIGHT_RADIUS * 2
-            ));
-            fullScreen.subtract(spotlight);
-            
-            // Fill everything except the spotlight area
-            g2d.fill(fullScreen);
-            
-            // Restore original composite and clip
-            g2d.setComposite(oldComposite);
-            g2d.setClip(oldClip);
+            int playerCenterX = (int) (gameManager.getPlayer().getRenderX(alpha) + gameManager.getPlayer().getWidth() / 2);
+            int playerCenterY = (int) (gameManager.getPlayer().getRenderY(alpha) + gameManager.getPlayer().getHeight() / 2);
+
+            // Dark surroundings with a soft spotlight on the player, from a pre-rendered mask
+            spotlightOverlay.draw(g2d, playerCenterX, playerCenterY, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
         }
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == Constants.DEBUG_OVERLAY_KEY) {
+            debugOverlayVisible = !debugOverlayVisible;
+            BlitStats.setEnabled(debugOverlayVisible);
+            return;
+        }
+        // Input is queued and applied at the start of the next tick, keeping the simulation deterministic
         if (e.getKeyCode() == Constants.JUMP_KEY && gameManager.isRunning()) {
-            gameManager.getPlayer().jump();
+            gameManager.queueJump();
         } else if (e.getKeyCode() == Constants.FALL_KEY && gameManager.isRunning()) {
-            gameManager.getPlayer().fall();
+            gameManager.queueFall();
         }
         // For debugging or development:
         // if (e.getKeyCode() == KeyEvent.VK_R && (gameManager.isGameOver() || !gameManager.isRunning())) {
         //     gameManager.restartGame();
-        //     startGameTimer(); // Ensure timer is running
+        //     startGameLoop(); // Ensure loop is running
         // }
     }
 
@@ -0,0 +1,207 @@
+package pawjump.game;
+
+import pawjump.game.entities.EntityPool;
+import pawjump.game.entities.EntityStore;
+import pawjump.game.entities.EntityType;
+import pawjump.game.entities.Obstacle;
+import pawjump.game.entities.Player;
+import pawjump.game.entities.items.Item;
+import pawjump.game.level.LevelStream;
+import pawjump.game.utils.CollisionMask;
+import pawjump.game.utils.Constants;
+import pawjump.game.utils.NullAudioSink;
+
+/**
+ * Runs the full GameManager pipeline without a window or sound card, as fast
+ * as the CPU allows, with a simple autopilot doing the jumping. Used to soak
+ * test and benchmark gameplay logic.
+ *
+ * Usage: java -cp pawjump.jar pawjump.game.HeadlessSimulation [ticks] [--seed N] [--level N] [--verify]
+ *
+ * --verify runs two simulations with the same seed side by side and checks
+ * that their state hashes match on every tick. The first generates level
+ * chunks on its background thread and the second inline, so the check also
+ * covers chunks coming out the same wherever they are built.
+ */
+public class HeadlessSimulation {
+    private static final long DEFAULT_TICKS = 1_000_000;
+    private static final int JUMP_LEAD_TICKS = 9; // Jump this many ticks before reaching an obstacle
+    private static final int REPORT_INTERVAL_MS = 1000;
+
+    private final GameManager gameManager;
+    private final int startLevel; // Every run starts here, so late levels can be soaked without playing up to them
+    private long ticks;
+    private int gamesPlayed;
+    private int bestScore;
+    private int bestLevel;
+
+    public HeadlessSimulation(long seed) {
+        this(seed, 1);
+    }
+
+    public HeadlessSimulation(long seed, int startLevel) {
+        this(seed, startLevel, true);
+    }
+
+    public HeadlessSimulation(long seed, int startLevel, boolean backgroundLevelGeneration) {
+        this.gameManager = new GameManager(null, new NullAudioSink(), seed, backgroundLevelGeneration);
+        this.gameManager.setPersistHighScore(false);
+        this.startLevel = startLevel;
+        if (startLevel > 1) {
+            gameManager.fastForwardToLevel(startLevel);
+        }
+    }
+
+    // Advances the simulation one tick, restarting as soon as a run has fully ended
+    public void tick() {
+        prepareTick();
+        advance();
+    }
+
+    // The harness's half of a tick: restarting a finished run, the autopilot's input and waiting on the level generator
+    public void prepareTick() {
+        if (gameManager.isGameOver() && gameManager.getPlayer().isDeathAnimationDone()) {
+            bestScore = Math.max(bestScore, gameManager.getScore());
+            bestLevel = Math.max(bestLevel, gameManager.getCurrentLevel());
+            gamesPlayed++;
+            gameManager.restartGame();
+            if (startLevel > 1) {
+                gameManager.fastForwardToLevel(startLevel);
+            }
+        }
+        if (gameManager.isRunning()) {
+            autopilot();
+        }
+        gameManager.getLevelStream().awaitNext();
+    }
+
+    // The game's half of a tick: GameManager.update() alone
+    public void advance() {
+        gameManager.update();
+        ticks++;
+    }
+
+    private void autopilot() {
+        Player player = gameManager.getPlayer();
+        double speed = Constants.BASE_SPEED * gameManager.getSpeedMultiplier();
+        double lead = speed * JUMP_LEAD_TICKS;
+        double playerRight = player.getX() + player.getWidth();
+        double standingTop = Constants.GROUND_Y - player.getHeight();
+
+        EntityStore<Obstacle> obstacles = gameManager.getObstacles();
+        for (int i = 0; i < obstacles.size(); i++) {
+            double gap = obstacles.getX(i) - playerRight;
+            boolean blocksRunner = obstacles.getY(i) + obstacles.getHeight(i) > standingTop;
+            if (blocksRunner && gap > 0 && gap < lead) {
+                gameManager.queueJump();
+                return;
+            }
+        }
+        EntityStore<Item> items = gameManager.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            double gap = items.getX(i) - playerRight;
+            if (items.getType(i) == EntityType.FISH && !items.isRemoved(i) && gap > 0 && gap < lead) {
+                gameManager.queueJump();
+                return;
+            }
+        }
+    }
+
+    public void close() {
+        gameManager.close();
+    }
+
+    public GameManager getGameManager() { return gameManager; }
+    public long getTicks() { return ticks; }
+    public int getGamesPlayed() { return gamesPlayed; }
+    public int getBestScore() { return Math.max(bestScore, gameManager.getScore()); }
+    public int getBestLevel() { return Math.max(bestLevel, gameManager.getCurrentLevel()); }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        long totalTicks = DEFAULT_TICKS;
+        long seed = System.nanoTime();
+        int startLevel = 1;
+        boolean verify = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--seed")) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--level")) {
+                startLevel = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--verify")) {
+                verify = true;
+            } else {
+                totalTicks = Long.parseLong(args[i]);
+            }
+        }
+
+        System.out.println("Seed: " + seed);
+        if (verify) {
+            System.exit(verifyDeterminism(seed, startLevel, totalTicks) ? 0 : 1);
+        }
+        runBenchmark(seed, startLevel, totalTicks);
+    }
+
+    private static void runBenchmark(long seed, int startLevel, long totalTicks) {
+        HeadlessSimulation simulation = new HeadlessSimulation(seed, startLevel);
+        int masksAtStart = CollisionMask.getBuildCount();
+        long start = System.nanoTime();
+        long lastReport = start;
+        long ticksAtLastReport = 0;
+
+        while (simulation.getTicks() < totalTicks) {
+            simulation.tick();
+
+            long now = System.nanoTime();
+            if (now - lastReport >= REPORT_INTERVAL_MS * 1_000_000L) {
+                long ticksDone = simulation.getTicks() - ticksAtLastReport;
+                System.out.printf("%,d ticks/s (%,d total, %d games)%n",
+                        (long) (ticksDone * 1e9 / (now - lastReport)), simulation.getTicks(), simulation.getGamesPlayed());
+                lastReport = now;
+                ticksAtLastReport = simulation.getTicks();
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Simulated %,d ticks in %.2f s: %,.0f ticks/s (%.0fx real time)%n",
+                simulation.getTicks(), seconds, simulation.getTicks() / seconds,
+                simulation.getTicks() * Constants.GAME_TICK_MS / 1000.0 / seconds);
+        System.out.printf("Games played: %d, best score: %d m, best level: %d%n",
+                simulation.getGamesPlayed(), simulation.getBestScore(), simulation.getBestLevel());
+
+        long hits = 0, misses = 0, dropped = 0;
+        for (EntityPool<?> pool : simulation.getGameManager().getEntityPools()) {
+            hits += pool.getHits();
+            misses += pool.getMisses();
+            dropped += pool.getDropped();
+        }
+        System.out.printf("Entity pools: %,d hits, %,d misses, %,d dropped%n", hits, misses, dropped);
+        System.out.printf("Collision masks: %,d built at load, %,d during play%n",
+                masksAtStart, CollisionMask.getBuildCount() - masksAtStart);
+        LevelStream levelStream = simulation.getGameManager().getLevelStream();
+        System.out.printf("Level chunks: %,d generated ahead, %,d built at restart, %,d misses%n",
+                levelStream.getChunksAhead(), levelStream.getChunksInline(), levelStream.getMisses());
+        simulation.close();
+    }
+
+    private static boolean verifyDeterminism(long seed, int startLevel, long totalTicks) {
+        HeadlessSimulation first = new HeadlessSimulation(seed, startLevel);
+        HeadlessSimulation second = new HeadlessSimulation(seed, startLevel, false);
+        for (long tick = 0; tick < totalTicks; tick++) {
+            first.tick();
+            second.tick();
+            long firstHash = first.getGameManager().computeStateHash();
+            long secondHash = second.getGameManager().computeStateHash();
+            if (firstHash != secondHash) {
+                System.out.printf("Diverged at tick %,d: %016x != %016x (%,d level chunk misses)%n",
+                        tick, firstHash, secondHash, first.getGameManager().getLevelStream().getMisses());
+                first.close();
+                return false;
+            }
+        }
+        System.out.printf("Deterministic: %,d ticks over %d games, final hash %016x%n",
+                totalTicks, first.getGamesPlayed(), first.getGameManager().computeStateHash());
+        first.close();
+        return true;
+    }
+}
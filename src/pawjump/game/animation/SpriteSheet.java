@@ -0,0 +1,92 @@
+package pawjump.game.animation;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import pawjump.game.render.CompatibleImages;
+import pawjump.game.utils.AssetLoader;
+import pawjump.game.utils.CollisionMask;
+
+/**
+ * Frames sliced from a horizontal sprite sheet. Instances are shared between
+ * every animator playing them (see SpriteSheetCache), so the frames must never
+ * be drawn into. They are only replaced, by reslice(), when the display's pixel
+ * format changes.
+ */
+public final class SpriteSheet {
+    private static final Image PLACEHOLDER_FRAME = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private final String path; // Sheet image the frames are cut from; null if built from ready frames
+    private final Image[] frames;
+    private final int frameWidth;
+    private final int frameHeight;
+
+    public SpriteSheet(Image[] frames) {
+        this.path = null;
+        this.frames = frames.clone();
+        this.frameWidth = frames.length > 0 && frames[0] != null ? frames[0].getWidth(null) : 0;
+        this.frameHeight = frames.length > 0 && frames[0] != null ? frames[0].getHeight(null) : 0;
+    }
+
+    private SpriteSheet(String path, Image[] frames, int frameWidth, int frameHeight) {
+        this.path = path;
+        this.frames = frames;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+    }
+
+    static SpriteSheet slice(String path, Image sheetImage, int numFrames, int frameWidth, int frameHeight) {
+        Image[] frames = new Image[numFrames];
+        if (sheetImage == null || sheetImage.getWidth(null) <= 0 || sheetImage.getHeight(null) <= 0 || frameWidth <= 0 || frameHeight <= 0) {
+            System.err.println("Error loading or invalid dimensions for spritesheet: " + path);
+            for (int i = 0; i < numFrames; i++) {
+                frames[i] = PLACEHOLDER_FRAME; // Minimal placeholder
+            }
+            return new SpriteSheet(null, frames, 1, 1);
+        }
+        SpriteSheet sheet = new SpriteSheet(path, frames, frameWidth, frameHeight);
+        sheet.cut(sheetImage);
+        return sheet;
+    }
+
+    // Cuts the frames again from the sheet image as now loaded, for a new display format; nothing may be running
+    void reslice() {
+        Image sheetImage = path != null ? AssetLoader.loadImage(path) : null;
+        if (sheetImage != null) {
+            cut(sheetImage);
+        }
+    }
+
+    private void cut(Image sheetImage) {
+        // Assuming horizontal sprite sheet with numFrames frames
+        int transparency = CompatibleImages.getTransparency(sheetImage);
+        for (int i = 0; i < frames.length; i++) {
+            BufferedImage frame = CompatibleImages.create(frameWidth, frameHeight, transparency);
+            Graphics2D g = frame.createGraphics();
+            g.drawImage(sheetImage, 0, 0, frameWidth, frameHeight,
+                        i * frameWidth, 0, (i + 1) * frameWidth, frameHeight, null);
+            g.dispose();
+            CollisionMask.transfer(frames[i], frame);
+            frames[i] = frame;
+        }
+    }
+
+    public Image getFrame(int index) {
+        if (index < 0 || index >= frames.length) {
+            return PLACEHOLDER_FRAME;
+        }
+        return frames[index];
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public int getFrameWidth() {
+        return frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return frameHeight;
+    }
+}
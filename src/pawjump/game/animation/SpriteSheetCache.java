@@ -0,0 +1,50 @@
+package pawjump.game.animation;
+
+import java.awt.Image;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import pawjump.game.utils.AssetLoader;
+
+/**
+ * Slices each sprite sheet once and hands the same SpriteSheet to every
+ * animator, so spawning an entity never decodes or slices images.
+ */
+public final class SpriteSheetCache {
+    private static final Map<String, SpriteSheet> sheets = new ConcurrentHashMap<>();
+
+    private SpriteSheetCache() {}
+
+    // Horizontal strip of numFrames equally wide frames spanning the whole image
+    public static SpriteSheet get(String path, int numFrames) {
+        return sheets.computeIfAbsent(key(path, numFrames, 0, 0), k -> {
+            Image sheetImage = AssetLoader.loadImage(path);
+            int frameWidth = sheetImage != null ? sheetImage.getWidth(null) / numFrames : 0;
+            int frameHeight = sheetImage != null ? sheetImage.getHeight(null) : 0;
+            return SpriteSheet.slice(path, sheetImage, numFrames, frameWidth, frameHeight);
+        });
+    }
+
+    public static SpriteSheet get(String path, int numFrames, int frameWidth, int frameHeight) {
+        return sheets.computeIfAbsent(key(path, numFrames, frameWidth, frameHeight),
+                k -> SpriteSheet.slice(path, AssetLoader.loadImage(path), numFrames, frameWidth, frameHeight));
+    }
+
+    private static String key(String path, int numFrames, int frameWidth, int frameHeight) {
+        return path + '#' + numFrames + ':' + frameWidth + 'x' + frameHeight;
+    }
+
+    public static void clear() {
+        sheets.clear();
+    }
+
+    // Cuts every cached sheet again from its image as now loaded, keeping the instances animators hold
+    public static void reslice() {
+        for (SpriteSheet sheet : sheets.values()) {
+            sheet.reslice();
+        }
+    }
+
+    public static int size() {
+        return sheets.size();
+    }
+}
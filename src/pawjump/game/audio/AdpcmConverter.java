@@ -0,0 +1,68 @@
+package pawjump.game.audio;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.sound.sampled.AudioInputStream;
+import pawjump.game.utils.Constants;
+
+/**
+ * Build step that encodes every WAV in a directory to ImaAdpcm, resampled to
+ * the mixer's rate so the game can play it without converting anything.
+ * Files already newer than their WAV are left alone. Quiet unless
+ * --verbose, apart from a warning for each sound the game plays that has no
+ * WAV here.
+ *
+ * Usage: AdpcmConverter [--verbose] <wav directory> <output directory>
+ */
+public final class AdpcmConverter {
+    private AdpcmConverter() {}
+
+    public static void main(String[] args) throws Exception {
+        boolean verbose = args.length == 3 && args[0].equals("--verbose");
+        if (args.length != (verbose ? 3 : 2)) {
+            System.err.println("Usage: AdpcmConverter [--verbose] <wav directory> <output directory>");
+            System.exit(2);
+        }
+        File wavDir = new File(args[args.length - 2]);
+        File[] wavs = wavDir.listFiles((dir, name) -> name.endsWith(".wav"));
+        if (wavs == null) {
+            throw new IOException("Not a directory: " + wavDir);
+        }
+        File outputDir = new File(args[args.length - 1]);
+        outputDir.mkdirs();
+        for (File wav : wavs) {
+            String name = wav.getName();
+            File output = new File(outputDir, name.substring(0, name.length() - 4) + ImaAdpcm.EXTENSION);
+            if (output.lastModified() > wav.lastModified()) {
+                continue;
+            }
+            byte[] encoded = encode(Files.readAllBytes(wav.toPath()));
+            Files.write(output.toPath(), encoded);
+            if (verbose) {
+                System.err.println("Encoded " + name + ": " + wav.length() + " -> " + encoded.length + " bytes");
+            }
+        }
+        checkSources(wavDir, outputDir);
+    }
+
+    // Warns about every sound the game plays that has no WAV to build it from; the game runs silent where one is missing
+    private static void checkSources(File wavDir, File outputDir) {
+        String[] paths = Arrays.copyOf(SoundEffect.PATHS, SoundEffect.PATHS.length + 1);
+        paths[paths.length - 1] = Constants.AUDIO_BG;
+        for (String path : paths) {
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            String wavName = name.substring(0, name.length() - ImaAdpcm.EXTENSION.length()) + ".wav";
+            if (!new File(wavDir, wavName).isFile() && !new File(outputDir, name).isFile()) {
+                System.err.println("WARNING: " + wavName + " is missing from " + wavDir + "; the game will play without " + name);
+            }
+        }
+    }
+
+    static byte[] encode(byte[] wav) throws Exception {
+        AudioInputStream stereo = Sample.openStereo(wav);
+        short[] samples = Sample.resample(Sample.readSamples(stereo), stereo.getFormat().getSampleRate(), Constants.AUDIO_SAMPLE_RATE);
+        return ImaAdpcm.encode(samples, 2, Constants.AUDIO_SAMPLE_RATE);
+    }
+}
@@ -0,0 +1,85 @@
+package pawjump.game.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+
+/**
+ * Decodes an ImaAdpcm file as it is read, one block at a time, into 16-bit
+ * little-endian stereo. Lets music stream from a compact file without ever
+ * holding more than a block of it.
+ */
+public final class AdpcmInputStream extends InputStream {
+    private final InputStream in;
+    private final int channels;
+    private final int blockFrames;
+    private final int frames;
+    private final int sampleRate;
+    private final byte[] block;
+    private final short[] decoded;
+    private final byte[] single = new byte[1];
+    private int framesRead; // Frames of the file decoded so far
+    private int position; // Next byte of the decoded block to hand out
+    private int length; // Bytes in the decoded block
+
+    // Reads the header off in, which must be positioned at the start of the file
+    public AdpcmInputStream(InputStream in) throws IOException {
+        this.in = in;
+        byte[] header = in.readNBytes(ImaAdpcm.HEADER_BYTES);
+        if (!ImaAdpcm.isAdpcm(header)) {
+            throw new IOException("Not an ADPCM file");
+        }
+        channels = ImaAdpcm.getChannels(header);
+        blockFrames = ImaAdpcm.getBlockFrames(header);
+        frames = ImaAdpcm.getFrames(header);
+        sampleRate = ImaAdpcm.getSampleRate(header);
+        block = new byte[ImaAdpcm.blockBytes(channels, blockFrames)];
+        decoded = new short[blockFrames * 2];
+    }
+
+    // This stream with the format and length AudioSystem needs to convert it further
+    public AudioInputStream toAudioInputStream() {
+        return new AudioInputStream(this, new AudioFormat(sampleRate, 16, 2, true, false), frames);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == 1 ? single[0] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int count) throws IOException {
+        if (position == length && !nextBlock()) {
+            return -1;
+        }
+        int n = Math.min(count, length - position);
+        for (int i = 0; i < n; i++) {
+            int index = position + i;
+            short sample = decoded[index >> 1];
+            buffer[offset + i] = (index & 1) == 0 ? (byte) sample : (byte) (sample >> 8);
+        }
+        position += n;
+        return n;
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (framesRead >= frames) {
+            return false;
+        }
+        if (in.readNBytes(block, 0, block.length) < block.length) {
+            throw new EOFException("ADPCM file ends inside a block");
+        }
+        int decodedFrames = ImaAdpcm.decodeBlock(block, 0, channels, blockFrames, Math.min(blockFrames, frames - framesRead), decoded);
+        framesRead += decodedFrames;
+        position = 0;
+        length = decodedFrames * 4;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
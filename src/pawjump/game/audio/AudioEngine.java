@@ -0,0 +1,222 @@
+package pawjump.game.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioFormat;
+import pawjump.game.utils.Constants;
+import pawjump.game.utils.MpscIntQueue;
+
+/**
+ * Plays the game's sounds from a thread of its own. Gameplay only posts int
+ * commands to a lock-free queue, so a play call costs a CAS and two stores
+ * no matter what the sound system is doing; the audio thread loads the
+ * sounds, carries the commands out and mixes everything that is playing
+ * onto a single output, one block of AUDIO_BUFFER_FRAMES at a time.
+ *
+ * Latency is the block being mixed plus what the output holds ahead of it,
+ * which the line is opened to keep at AUDIO_LINE_BUFFER_BLOCKS blocks.
+ * Commands are picked up between blocks. Music is streamed by a MusicPlayer
+ * rather than loaded, and fades in and out over AUDIO_MUSIC_FADE_MS.
+ *
+ * At exit a shutdown hook has the audio thread stop and close the output,
+ * which is what completes a WAV recording.
+ */
+public final class AudioEngine implements Runnable {
+    // Commands are an operation in the high bits and its argument (an effect id) in the low byte
+    private static final int PLAY = 1 << 8;
+    private static final int START_MUSIC = 2 << 8;
+    private static final int STOP_MUSIC = 3 << 8;
+    private static final int PAUSE_MUSIC = 4 << 8;
+    private static final int RESUME_MUSIC = 5 << 8;
+    private static final int STOP_ALL = 6 << 8;
+    private static final int OPERATION_MASK = ~0xff;
+
+    private final MpscIntQueue commands = new MpscIntQueue(Constants.AUDIO_COMMAND_QUEUE_CAPACITY);
+    private final AtomicLong droppedCommands = new AtomicLong();
+    private volatile boolean enabled = true;
+    private volatile float musicSpeed = 1; // Latest wins, so it skips the queue
+
+    private final String outputName;
+    private final Thread thread;
+    private volatile boolean closing;
+    private volatile long outputLatencyMicros = -1;
+    private volatile int activeVoices;
+    private volatile long musicUnderruns;
+
+    // Audio thread only
+    private final SoftwareMixer mixer = new SoftwareMixer(Constants.AUDIO_MIXER_VOICES, Constants.AUDIO_BUFFER_FRAMES);
+    private final Sample[] effects = new Sample[SoundEffect.COUNT];
+    private final MusicPlayer music = new MusicPlayer();
+
+    public AudioEngine() {
+        this(Constants.AUDIO_OUTPUT);
+    }
+
+    // output is "line" (the sound card, or nothing if there is none), "null", or "wav:" and a file to record to
+    public AudioEngine(String output) {
+        this.outputName = output;
+        thread = new Thread(this, "PawJump-Audio");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "PawJump-AudioClose"));
+    }
+
+    // Stops the audio thread and waits, up to AUDIO_CLOSE_TIMEOUT_MS, for it to close the output
+    public void close() {
+        closing = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Constants.AUDIO_CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Any thread, never blocks
+    public void play(int effect) { post(PLAY | effect); }
+    public void startMusic() { post(START_MUSIC); }
+    public void stopMusic() { post(STOP_MUSIC); }
+    public void pauseMusic() { post(PAUSE_MUSIC); }
+    public void resumeMusic() { post(RESUME_MUSIC); }
+
+    // The game's speed multiplier, which the music's rate follows
+    public void setMusicSpeed(double speedMultiplier) {
+        musicSpeed = (float) speedMultiplier;
+    }
+
+    public void stopAll() {
+        if (!commands.offer(STOP_ALL)) {
+            droppedCommands.incrementAndGet();
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (!enabled) {
+            stopAll();
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Commands refused because the queue was full; the audio thread has fallen far behind if this grows
+    public long getDroppedCommands() {
+        return droppedCommands.get();
+    }
+
+    // From the start of a block being mixed to it being heard, or -1 until the output is open
+    public long getOutputLatencyMicros() {
+        return outputLatencyMicros;
+    }
+
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+
+    public long getMusicUnderruns() {
+        return musicUnderruns;
+    }
+
+    private void post(int command) {
+        if (enabled && !commands.offer(command)) {
+            droppedCommands.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void run() {
+        AudioFormat format = new AudioFormat(Constants.AUDIO_SAMPLE_RATE, 16, 2, true, false);
+        int blockFrames = Constants.AUDIO_BUFFER_FRAMES;
+        AudioOutput output = openOutput(format, blockFrames);
+        mixer.addSource(music);
+        outputLatencyMicros = (blockFrames + output.getBufferedFrames()) * 1_000_000L / Constants.AUDIO_SAMPLE_RATE;
+        load(); // Commands posted meanwhile wait in the queue
+
+        byte[] block = new byte[blockFrames * format.getFrameSize()];
+        long blockNanos = blockFrames * 1_000_000_000L / Constants.AUDIO_SAMPLE_RATE;
+        long deadline = System.nanoTime();
+        while (!closing) {
+            int command;
+            while ((command = commands.poll()) != MpscIntQueue.EMPTY) {
+                execute(command);
+            }
+            music.setRate(musicRate(musicSpeed));
+            mixer.mix(block, blockFrames);
+            activeVoices = mixer.getActiveVoices();
+            musicUnderruns = music.getUnderruns();
+            output.write(block, block.length); // A line blocks here until it has room, which paces the loop
+            if (!output.isPaced()) {
+                deadline += blockNanos;
+                long wait = deadline - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                } else if (wait < -4 * blockNanos) {
+                    deadline = System.nanoTime(); // Fell far behind (suspended, debugger); don't race to catch up
+                }
+            }
+        }
+        output.close();
+    }
+
+    private void execute(int command) {
+        switch (command & OPERATION_MASK) {
+            case PLAY:
+                int effect = command & 0xff;
+                if (effects[effect] != null) {
+                    mixer.play(effects[effect], SoundEffect.VOLUMES[effect], false, effect, Constants.AUDIO_VOICES_PER_EFFECT);
+                }
+                break;
+            case START_MUSIC:
+                if (!music.isPlaying()) {
+                    music.play(Constants.AUDIO_BG, Constants.AUDIO_MUSIC_VOLUME, musicFadeFrames());
+                }
+                break;
+            case STOP_MUSIC:
+                music.stop(musicFadeFrames());
+                break;
+            case PAUSE_MUSIC:
+                music.setPaused(true);
+                break;
+            case RESUME_MUSIC:
+                music.setPaused(false);
+                break;
+            case STOP_ALL:
+                mixer.stopAll();
+                music.stop(0);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private AudioOutput openOutput(AudioFormat format, int blockFrames) {
+        try {
+            if (outputName.startsWith("wav:")) {
+                return new WavFileOutput(outputName.substring(4), format);
+            }
+            if (!outputName.equals("null")) {
+                return new LineOutput(format, blockFrames * Constants.AUDIO_LINE_BUFFER_BLOCKS);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to open audio output: " + outputName + " - " + e.getMessage());
+        }
+        return new NullOutput();
+    }
+
+    private void load() {
+        for (int effect = 0; effect < SoundEffect.COUNT; effect++) {
+            effects[effect] = Sample.load(SoundEffect.PATHS[effect], Constants.AUDIO_SAMPLE_RATE);
+        }
+    }
+
+    private static float musicRate(float speedMultiplier) {
+        float rate = 1 + (speedMultiplier - 1) * Constants.AUDIO_MUSIC_SPEED_FOLLOW;
+        return Math.max(Constants.AUDIO_MUSIC_MIN_RATE, Math.min(Constants.AUDIO_MUSIC_MAX_RATE, rate));
+    }
+
+    private static int musicFadeFrames() {
+        return Constants.AUDIO_MUSIC_FADE_MS * Constants.AUDIO_SAMPLE_RATE / 1000;
+    }
+}
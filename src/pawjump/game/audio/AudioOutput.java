@@ -0,0 +1,18 @@
+package pawjump.game.audio;
+
+/**
+ * Where the mixer's blocks go: 16-bit signed little-endian stereo at
+ * AUDIO_SAMPLE_RATE. A sound card line paces the audio thread by blocking in
+ * write(); outputs that don't are paced by the engine in real time instead.
+ */
+public interface AudioOutput {
+    void write(byte[] buffer, int length);
+
+    // Whether write() blocks until the device has room, keeping the caller in step with playback
+    boolean isPaced();
+
+    // Frames written but not yet heard, at most; 0 for outputs nobody listens to
+    int getBufferedFrames();
+
+    void close();
+}
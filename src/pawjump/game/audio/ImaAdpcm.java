@@ -0,0 +1,201 @@
+package pawjump.game.audio;
+
+/**
+ * IMA-ADPCM, 4 bits per sample, in the game's own small container so sounds
+ * ship and sit in memory at a quarter of their 16-bit size. The stream is cut
+ * into blocks that each start from a stored predictor and step index, so any
+ * block decodes on its own: a voice decodes the block it is playing and no
+ * more, and a damaged block can't spread past itself.
+ *
+ * File layout, little-endian: the MAGIC bytes, then channels (u8), a zero
+ * byte, sample rate (u32), frames (u32) and frames per block (u16), then the
+ * blocks. A block holds, per channel, the first sample (s16), the step index
+ * (u8) and a zero byte, followed by the channel's remaining samples as
+ * nibbles, low nibble first. The last block is padded to full size.
+ */
+public final class ImaAdpcm {
+    public static final String EXTENSION = ".adpcm";
+    public static final byte[] MAGIC = { 'P', 'J', 'A', 'D' };
+    public static final int HEADER_BYTES = 16;
+    public static final int BLOCK_FRAMES = 1025; // The first sample sits in the header, leaving 512 bytes of nibbles
+
+    private static final int[] STEPS = {
+        7, 8, 9, 10, 11, 12, 13, 14, 16, 17, 19, 21, 23, 25, 28, 31, 34, 37, 41, 45,
+        50, 55, 60, 66, 73, 80, 88, 97, 107, 118, 130, 143, 157, 173, 190, 209, 230, 253, 279, 307,
+        337, 371, 408, 449, 494, 544, 598, 658, 724, 796, 876, 963, 1060, 1166, 1282, 1411, 1552, 1707, 1878, 2066,
+        2272, 2499, 2749, 3024, 3327, 3660, 4026, 4428, 4871, 5358, 5894, 6484, 7132, 7845, 8630, 9493, 10442, 11487, 12635, 13899,
+        15289, 16818, 18500, 20350, 22385, 24623, 27086, 29794, 32767
+    };
+    private static final int[] INDEX_CHANGES = { -1, -1, -1, -1, 2, 4, 6, 8 };
+    // By step index and the nibble's magnitude bits, so decoding doesn't branch on them
+    private static final int[][] NEXT_INDEX = new int[STEPS.length][8]; // INDEX_CHANGES applied and clamped
+    private static final int[][] DELTAS = new int[STEPS.length][8];
+
+    static {
+        for (int index = 0; index < STEPS.length; index++) {
+            int step = STEPS[index];
+            for (int code = 0; code < 8; code++) {
+                NEXT_INDEX[index][code] = Math.max(0, Math.min(STEPS.length - 1, index + INDEX_CHANGES[code]));
+                DELTAS[index][code] = (step >> 3) + ((code & 4) != 0 ? step : 0) + ((code & 2) != 0 ? step >> 1 : 0)
+                        + ((code & 1) != 0 ? step >> 2 : 0);
+            }
+        }
+    }
+
+    private ImaAdpcm() {}
+
+    public static boolean isAdpcm(byte[] data) {
+        if (data.length < HEADER_BYTES) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int getChannels(byte[] file) { return file[4] & 0xff; }
+    public static int getSampleRate(byte[] file) { return readInt(file, 6); }
+    public static int getFrames(byte[] file) { return readInt(file, 10); }
+    public static int getBlockFrames(byte[] file) { return (file[14] & 0xff) | (file[15] & 0xff) << 8; }
+
+    public static int blockBytes(int channels, int blockFrames) {
+        return channels * (4 + blockFrames / 2);
+    }
+
+    // The whole file for interleaved 16-bit samples
+    public static byte[] encode(short[] samples, int channels, int sampleRate) {
+        int frames = samples.length / channels;
+        int blocks = (frames + BLOCK_FRAMES - 1) / BLOCK_FRAMES;
+        int blockBytes = blockBytes(channels, BLOCK_FRAMES);
+        byte[] file = new byte[HEADER_BYTES + blocks * blockBytes];
+        System.arraycopy(MAGIC, 0, file, 0, MAGIC.length);
+        file[4] = (byte) channels;
+        writeInt(file, 6, sampleRate);
+        writeInt(file, 10, frames);
+        file[14] = (byte) BLOCK_FRAMES;
+        file[15] = (byte) (BLOCK_FRAMES >> 8);
+
+        int[] stepIndex = new int[channels]; // Carried across blocks, so each starts with a step that fits
+        for (int block = 0; block < blocks; block++) {
+            int firstFrame = block * BLOCK_FRAMES;
+            int blockStart = HEADER_BYTES + block * blockBytes;
+            for (int channel = 0; channel < channels; channel++) {
+                int offset = blockStart + channel * (4 + BLOCK_FRAMES / 2);
+                stepIndex[channel] = encodeChannel(samples, channels, channel, firstFrame, frames, stepIndex[channel], file, offset);
+            }
+        }
+        return file;
+    }
+
+    // Encodes one channel of one block at offset; returns the step index it ends on
+    private static int encodeChannel(short[] samples, int channels, int channel, int firstFrame, int frames,
+                                     int index, byte[] out, int offset) {
+        int predictor = samples[firstFrame * channels + channel];
+        out[offset] = (byte) predictor;
+        out[offset + 1] = (byte) (predictor >> 8);
+        out[offset + 2] = (byte) index;
+        for (int i = 1; i < BLOCK_FRAMES; i++) {
+            int frame = Math.min(firstFrame + i, frames - 1); // Pads the last block with its final sample
+            int diff = samples[frame * channels + channel] - predictor;
+            int step = STEPS[index];
+            int nibble = 0;
+            if (diff < 0) {
+                nibble = 8;
+                diff = -diff;
+            }
+            // Same arithmetic as decoding, so the encoder tracks exactly what the decoder will hear
+            int delta = step >> 3;
+            if (diff >= step) {
+                nibble |= 4;
+                diff -= step;
+                delta += step;
+            }
+            if (diff >= step >> 1) {
+                nibble |= 2;
+                diff -= step >> 1;
+                delta += step >> 1;
+            }
+            if (diff >= step >> 2) {
+                nibble |= 1;
+                delta += step >> 2;
+            }
+            predictor = clamp((nibble & 8) != 0 ? predictor - delta : predictor + delta);
+            index = NEXT_INDEX[index][nibble & 7];
+            int byteOffset = offset + 4 + (i - 1) / 2;
+            out[byteOffset] |= (i & 1) != 0 ? nibble : nibble << 4;
+        }
+        return index;
+    }
+
+    // Decodes block of a whole file into out; see the other decodeBlock
+    public static int decodeBlock(byte[] file, int block, short[] out) {
+        int channels = getChannels(file);
+        int blockFrames = getBlockFrames(file);
+        int frames = Math.min(blockFrames, getFrames(file) - block * blockFrames);
+        return decodeBlock(file, HEADER_BYTES + block * blockBytes(channels, blockFrames), channels, blockFrames, frames, out);
+    }
+
+    /**
+     * Decodes the block at offset in data into out as interleaved stereo,
+     * spreading mono to both channels, and returns frames. out needs room for
+     * blockFrames frames.
+     */
+    public static int decodeBlock(byte[] data, int offset, int channels, int blockFrames, int frames, short[] out) {
+        for (int channel = 0; channel < channels; channel++) {
+            int start = offset + channel * (4 + blockFrames / 2);
+            int predictor = (short) ((data[start] & 0xff) | data[start + 1] << 8);
+            int index = Math.min(data[start + 2] & 0xff, STEPS.length - 1);
+            out[channel] = (short) predictor;
+            int read = start + 4;
+            for (int i = 1; i < frames; i++) {
+                int nibble = (i & 1) != 0 ? data[read] & 0xf : (data[read++] >> 4) & 0xf;
+                int delta = DELTAS[index][nibble & 7];
+                predictor += (nibble & 8) != 0 ? -delta : delta;
+                if (predictor > Short.MAX_VALUE) {
+                    predictor = Short.MAX_VALUE;
+                } else if (predictor < Short.MIN_VALUE) {
+                    predictor = Short.MIN_VALUE;
+                }
+                index = NEXT_INDEX[index][nibble & 7];
+                out[i * 2 + channel] = (short) predictor;
+            }
+        }
+        if (channels == 1) {
+            for (int i = 0; i < frames; i++) {
+                out[i * 2 + 1] = out[i * 2];
+            }
+        }
+        return Math.max(frames, 0);
+    }
+
+    // Every block of a whole file, as interleaved stereo
+    public static short[] decodeAll(byte[] file) {
+        int frames = getFrames(file);
+        int blockFrames = getBlockFrames(file);
+        short[] block = new short[blockFrames * 2];
+        short[] out = new short[frames * 2];
+        for (int i = 0; i * blockFrames < frames; i++) {
+            int count = decodeBlock(file, i, block);
+            System.arraycopy(block, 0, out, i * blockFrames * 2, count * 2);
+        }
+        return out;
+    }
+
+    private static int clamp(int sample) {
+        return Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8 | (data[offset + 2] & 0xff) << 16 | (data[offset + 3] & 0xff) << 24;
+    }
+
+    private static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) value;
+        data[offset + 1] = (byte) (value >> 8);
+        data[offset + 2] = (byte) (value >> 16);
+        data[offset + 3] = (byte) (value >> 24);
+    }
+}
@@ -0,0 +1,40 @@
+package pawjump.game.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+// The sound card, through the one SourceDataLine every sound is mixed onto
+public final class LineOutput implements AudioOutput {
+    private final SourceDataLine line;
+    private final int frameSize;
+
+    public LineOutput(AudioFormat format, int bufferFrames) throws LineUnavailableException {
+        line = AudioSystem.getSourceDataLine(format);
+        frameSize = format.getFrameSize();
+        line.open(format, bufferFrames * frameSize);
+        line.start();
+    }
+
+    @Override
+    public void write(byte[] buffer, int length) {
+        line.write(buffer, 0, length);
+    }
+
+    @Override
+    public boolean isPaced() {
+        return true;
+    }
+
+    // What the line actually granted, which can be more than asked for
+    @Override
+    public int getBufferedFrames() {
+        return line.getBufferSize() / frameSize;
+    }
+
+    @Override
+    public void close() {
+        line.close();
+    }
+}
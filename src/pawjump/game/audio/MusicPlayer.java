@@ -0,0 +1,284 @@
+package pawjump.game.audio;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import pawjump.game.utils.Constants;
+
+/**
+ * Streams music instead of decoding whole tracks up front. A daemon thread
+ * decodes the resource a chunk at a time, converted to the mixer's format,
+ * into a small ring per deck; the audio thread mixes from the ring. At the
+ * end of a track the decoder reopens it and keeps writing, so the loop point
+ * has no gap as long as the ring is ahead.
+ *
+ * There are two decks so one track can fade out while the next fades in.
+ * Each plays through a Resampler, so the music can speed up with the game.
+ * Everything but run() is called from the audio thread.
+ */
+public final class MusicPlayer implements PcmSource, Runnable {
+    private final Deck[] decks = { new Deck(), new Deck() };
+    private final Thread decoder;
+    private boolean paused;
+
+    public MusicPlayer() {
+        decoder = new Thread(this, "PawJump-MusicDecoder");
+        decoder.setDaemon(true);
+        decoder.start();
+    }
+
+    // Plays path from the start, fading in over fadeFrames while whatever was playing fades out
+    public void play(String path, float volume, int fadeFrames) {
+        Deck current = getCurrent();
+        Deck next = current == decks[0] ? decks[1] : decks[0];
+        if (current != null) {
+            current.fadeTo(0, fadeFrames);
+        }
+        next.start(path, fadeFrames > 0 ? 0 : volume); // Cuts off a deck still fading out from earlier
+        next.fadeTo(volume, fadeFrames);
+        LockSupport.unpark(decoder);
+    }
+
+    public void stop(int fadeFrames) {
+        for (Deck deck : decks) {
+            if (fadeFrames > 0) {
+                deck.fadeTo(0, fadeFrames);
+            } else {
+                deck.release();
+            }
+        }
+    }
+
+    // Playback rate the music glides to, tempo and pitch together; 1 is as recorded
+    public void setRate(float rate) {
+        decks[0].resampler.setTargetRate(rate);
+        decks[1].resampler.setTargetRate(rate);
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    // Whether a track is playing or paused, and not on its way out
+    public boolean isPlaying() {
+        return getCurrent() != null;
+    }
+
+    // Blocks in which a playing deck had less decoded than the mixer wanted
+    public long getUnderruns() {
+        return decks[0].underruns + decks[1].underruns;
+    }
+
+    @Override
+    public void mixInto(int[] accumulator, int frames) {
+        if (!paused) {
+            decks[0].mixInto(accumulator, frames);
+            decks[1].mixInto(accumulator, frames);
+        }
+    }
+
+    private Deck getCurrent() {
+        for (Deck deck : decks) {
+            if (deck.active && deck.target > 0) {
+                return deck;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void run() {
+        byte[] bytes = new byte[Constants.AUDIO_MUSIC_CHUNK_FRAMES * 4];
+        short[] samples = new short[Constants.AUDIO_MUSIC_CHUNK_FRAMES * 2];
+        long intervalNanos = Constants.AUDIO_MUSIC_DECODE_MS * 1_000_000L;
+        while (true) {
+            decks[0].decode(bytes, samples);
+            decks[1].decode(bytes, samples);
+            LockSupport.parkNanos(this, intervalNanos);
+        }
+    }
+
+    /**
+     * One track's stream. The audio thread asks for a track by bumping
+     * requestedGeneration; the decoder answers by noting where in the ring that
+     * track's samples start, and the audio thread skips to there, dropping
+     * whatever the previous track left behind.
+     */
+    private static final class Deck {
+        private final PcmRing ring = new PcmRing(Constants.AUDIO_MUSIC_RING_FRAMES * 2);
+
+        // Audio thread to decoder
+        private volatile String requestedPath; // Null to stop decoding
+        private volatile int requestedGeneration;
+        // Decoder to audio thread
+        private volatile long generationStart;
+        private volatile int readyGeneration;
+
+        // Decoder only
+        private int decodingGeneration;
+        private String path;
+        private AudioInputStream stream;
+
+        // Audio thread only
+        private final short[] block = new short[Constants.AUDIO_BUFFER_FRAMES * 2];
+        private final Resampler resampler = new Resampler(Constants.AUDIO_BUFFER_FRAMES, Constants.AUDIO_MUSIC_MAX_RATE,
+                Constants.AUDIO_MUSIC_RATE_GLIDE_MS * Constants.AUDIO_SAMPLE_RATE / 1000f);
+        private boolean active;
+        private boolean started; // Skipped to this track's samples yet
+        private boolean primed; // Had samples to play, so running short from here on is an underrun
+        private float gain;
+        private float target;
+        private float step; // Gain change per frame while fading
+        private long underruns;
+
+        void start(String path, float gain) {
+            requestedPath = path;
+            requestedGeneration++; // Written last, so the decoder sees the path that goes with it
+            active = true;
+            started = false;
+            primed = false;
+            resampler.reset();
+            this.gain = gain;
+            this.target = gain;
+            this.step = 0;
+        }
+
+        void release() {
+            if (active) {
+                active = false;
+                requestedPath = null;
+                requestedGeneration++;
+            }
+        }
+
+        void fadeTo(float volume, int fadeFrames) {
+            target = volume;
+            step = fadeFrames > 0 ? Math.abs(volume - gain) / fadeFrames : Float.POSITIVE_INFINITY;
+        }
+
+        void mixInto(int[] accumulator, int frames) {
+            if (!active) {
+                return;
+            }
+            if (target == 0 && !primed) {
+                release(); // Stopped before anything was heard; nothing to fade
+                return;
+            }
+            if (!started) {
+                if (readyGeneration != requestedGeneration) {
+                    return; // The decoder hasn't picked up this track yet
+                }
+                ring.skipTo(generationStart);
+                started = true;
+            }
+            int count = resampler.process(ring, block, Math.min(frames, Constants.AUDIO_BUFFER_FRAMES));
+            if (count < frames && primed) {
+                underruns++;
+            }
+            primed |= count > 0;
+            for (int frame = 0; frame < count; frame++) {
+                if (gain != target) {
+                    gain = gain < target ? Math.min(gain + step, target) : Math.max(gain - step, target);
+                }
+                int fixedGain = (int) (gain * 4096);
+                accumulator[frame * 2] += (block[frame * 2] * fixedGain) >> 12;
+                accumulator[frame * 2 + 1] += (block[frame * 2 + 1] * fixedGain) >> 12;
+            }
+            if (gain == 0 && target == 0) {
+                release(); // Faded out
+            }
+        }
+
+        void decode(byte[] bytes, short[] samples) {
+            int generation = requestedGeneration;
+            if (generation != decodingGeneration) {
+                close();
+                decodingGeneration = generation;
+                path = requestedPath;
+                stream = path != null ? open(path) : null;
+                generationStart = ring.getWritten();
+                readyGeneration = generation; // Written last, so the audio thread sees the start that goes with it
+            }
+            boolean fresh = false; // Just reopened, to stop on a track with nothing in it
+            while (stream != null && ring.free() >= samples.length && requestedGeneration == generation) {
+                int length = read(stream, bytes);
+                if (length <= 0) {
+                    close();
+                    if (!fresh) {
+                        stream = open(path); // Loop: the ring carries playback over the reopen
+                        fresh = true;
+                    }
+                    continue;
+                }
+                fresh = false;
+                int count = length / 2;
+                for (int i = 0; i < count; i++) {
+                    samples[i] = (short) ((bytes[i * 2] & 0xff) | (bytes[i * 2 + 1] << 8));
+                }
+                ring.write(samples, 0, count);
+            }
+        }
+
+        private void close() {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    // Nothing left to do with it either way
+                }
+                stream = null;
+            }
+        }
+
+        // Fills bytes with whole frames unless the track ends first; 0 at the end
+        private static int read(AudioInputStream stream, byte[] bytes) {
+            int length = 0;
+            try {
+                int n;
+                while (length < bytes.length && (n = stream.read(bytes, length, bytes.length - length)) > 0) {
+                    length += n;
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to read music: " + e.getMessage());
+            }
+            return length - length % 4;
+        }
+
+        private static boolean isAdpcm(BufferedInputStream in) throws IOException {
+            in.mark(ImaAdpcm.MAGIC.length);
+            byte[] magic = in.readNBytes(ImaAdpcm.MAGIC.length);
+            in.reset();
+            return Arrays.equals(magic, ImaAdpcm.MAGIC);
+        }
+
+        // The resource converted to the mixer's format as it is read, or null if it can't be
+        private static AudioInputStream open(String path) {
+            InputStream in = Sample.openResource(path);
+            if (in == null) {
+                System.err.println("Music not found: " + path + ", nor a WAV of the same name; playing without it");
+                return null;
+            }
+            try {
+                BufferedInputStream buffered = new BufferedInputStream(in);
+                AudioInputStream source = isAdpcm(buffered)
+                        ? new AdpcmInputStream(buffered).toAudioInputStream()
+                        : AudioSystem.getAudioInputStream(buffered);
+                AudioFormat format = new AudioFormat(Constants.AUDIO_SAMPLE_RATE, 16, 2, true, false);
+                return AudioSystem.getAudioInputStream(format, source);
+            } catch (Exception e) {
+                System.err.println("Failed to load audio: " + path + " - " + e.getMessage());
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // Already failing
+                }
+                return null;
+            }
+        }
+    }
+}
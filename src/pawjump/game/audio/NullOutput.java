@@ -0,0 +1,9 @@
+package pawjump.game.audio;
+
+// Drops the mix, for machines without a sound card and for measuring the mixer on its own
+public final class NullOutput implements AudioOutput {
+    @Override public void write(byte[] buffer, int length) {}
+    @Override public boolean isPaced() { return false; }
+    @Override public int getBufferedFrames() { return 0; }
+    @Override public void close() {}
+}
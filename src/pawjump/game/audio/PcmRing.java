@@ -0,0 +1,64 @@
+package pawjump.game.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring of 16-bit samples between one writing thread and one
+ * reading thread, like SpscQueue but for raw PCM. Positions only ever grow,
+ * so the reader can skip ahead to a position the writer published without
+ * the two ever having to reset anything together.
+ */
+public final class PcmRing {
+    private final short[] values;
+    private final int mask;
+    private final AtomicLong written = new AtomicLong(); // Writer only moves this
+    private final AtomicLong read = new AtomicLong(); // Reader only moves this
+
+    // Capacity in samples, rounded up to a power of two
+    public PcmRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+        this.values = new short[size];
+        this.mask = size - 1;
+    }
+
+    // Writer: room left
+    public int free() {
+        return values.length - (int) (written.get() - read.get());
+    }
+
+    // Writer: appends length samples, which must fit in free()
+    public void write(short[] source, int offset, int length) {
+        long position = written.get();
+        for (int i = 0; i < length; i++) {
+            values[(int) (position + i) & mask] = source[offset + i];
+        }
+        written.lazySet(position + length); // Publishes the samples to the reader
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    // Reader: samples ready to read
+    public int available() {
+        return (int) (written.get() - read.get());
+    }
+
+    // Reader: moves up to length samples into destination from offset on, returning how many there were
+    public int read(short[] destination, int offset, int length) {
+        long position = read.get();
+        int count = Math.min(length, (int) (written.get() - position));
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = values[(int) (position + i) & mask];
+        }
+        read.lazySet(position + count); // Hands the room back to the writer
+        return count;
+    }
+
+    // Reader: drops everything before position, which the writer has reached
+    public void skipTo(long position) {
+        if (position > read.get()) {
+            read.lazySet(position);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package pawjump.game.audio;
+
+// Sound produced as it is mixed rather than held in a Sample, summed into the mixer's block alongside its voices
+public interface PcmSource {
+    // Adds the next frames frames, interleaved stereo, to accumulator; audio thread only
+    void mixInto(int[] accumulator, int frames);
+}
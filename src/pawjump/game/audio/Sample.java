@@ -0,0 +1,136 @@
+package pawjump.game.audio;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import pawjump.game.utils.AssetLoader;
+
+/**
+ * A sound ready for the mixer, at the mixer's sample rate. Effects converted
+ * at build time stay IMA-ADPCM in memory and are decoded a block at a time as
+ * they play; anything else is decoded once into interleaved 16-bit stereo,
+ * with mono spread to both channels and other rates resampled here. Either
+ * way the mixer reads it through decodeBlock(), and voices playing the same
+ * sound all read the one copy.
+ */
+public final class Sample {
+    private final short[] pcm; // Interleaved stereo, or null when compressed
+    private final byte[] adpcm; // A whole ImaAdpcm file, or null
+    private final int frames;
+    private final int blockFrames;
+
+    public Sample(short[] pcm) {
+        this.pcm = pcm;
+        this.adpcm = null;
+        this.frames = pcm.length / 2;
+        this.blockFrames = ImaAdpcm.BLOCK_FRAMES;
+    }
+
+    // A whole ImaAdpcm file at the mixer's rate, decoded as it plays
+    public Sample(byte[] adpcm) {
+        this.pcm = null;
+        this.adpcm = adpcm;
+        this.frames = ImaAdpcm.getFrames(adpcm);
+        this.blockFrames = ImaAdpcm.getBlockFrames(adpcm);
+    }
+
+    public int getFrames() { return frames; }
+    public int getBlockFrames() { return blockFrames; } // At most ImaAdpcm.BLOCK_FRAMES
+    public int getBlocks() { return (frames + blockFrames - 1) / blockFrames; }
+    public boolean isCompressed() { return adpcm != null; }
+
+    // Bytes kept in memory for it
+    public int getSizeBytes() {
+        return adpcm != null ? adpcm.length : pcm.length * 2;
+    }
+
+    // Writes block into out as interleaved stereo and returns the frames in it
+    public int decodeBlock(int block, short[] out) {
+        if (adpcm != null) {
+            return ImaAdpcm.decodeBlock(adpcm, block, out);
+        }
+        int first = block * blockFrames;
+        int count = Math.min(blockFrames, frames - first);
+        System.arraycopy(pcm, first * 2, out, 0, count * 2);
+        return count;
+    }
+
+    // The resource ready for a mixer running at sampleRate, or null if it can't be loaded
+    public static Sample load(String path, int sampleRate) {
+        try (InputStream in = openResource(path)) {
+            if (in == null) {
+                System.err.println("Audio file not found: " + path);
+                return null;
+            }
+            byte[] bytes = in.readAllBytes();
+            if (ImaAdpcm.isAdpcm(bytes)) {
+                if (ImaAdpcm.getSampleRate(bytes) == sampleRate && ImaAdpcm.getBlockFrames(bytes) <= ImaAdpcm.BLOCK_FRAMES) {
+                    return new Sample(bytes);
+                }
+                return new Sample(resample(ImaAdpcm.decodeAll(bytes), ImaAdpcm.getSampleRate(bytes), sampleRate));
+            }
+            AudioInputStream stereo = openStereo(bytes);
+            return new Sample(resample(readSamples(stereo), stereo.getFormat().getSampleRate(), sampleRate));
+        } catch (Exception e) {
+            System.err.println("Failed to load audio: " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Any format Java Sound reads, as 16-bit little-endian stereo at its own rate
+    static AudioInputStream openStereo(byte[] file) throws Exception {
+        // From memory, since JAR resource streams don't support the mark/reset AudioSystem needs
+        AudioInputStream source = AudioSystem.getAudioInputStream(new ByteArrayInputStream(file));
+        AudioFormat format = new AudioFormat(source.getFormat().getSampleRate(), 16, 2, true, false);
+        return AudioSystem.getAudioInputStream(format, source);
+    }
+
+    static short[] readSamples(AudioInputStream stream) throws java.io.IOException {
+        byte[] bytes = stream.readAllBytes();
+        short[] samples = new short[bytes.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((bytes[i * 2] & 0xff) | (bytes[i * 2 + 1] << 8));
+        }
+        return samples;
+    }
+
+    // Linear interpolation; good enough for short effects, and done once at load
+    static short[] resample(short[] stereo, float fromRate, int toRate) {
+        if (Math.round(fromRate) == toRate) {
+            return stereo;
+        }
+        int fromFrames = stereo.length / 2;
+        int toFrames = (int) ((long) fromFrames * toRate / fromRate);
+        short[] out = new short[toFrames * 2];
+        double step = fromRate / toRate;
+        for (int frame = 0; frame < toFrames; frame++) {
+            double position = frame * step;
+            int index = (int) position;
+            double fraction = position - index;
+            int next = Math.min(index + 1, fromFrames - 1);
+            for (int channel = 0; channel < 2; channel++) {
+                double a = stereo[index * 2 + channel];
+                double b = stereo[next * 2 + channel];
+                out[frame * 2 + channel] = (short) Math.round(a + (b - a) * fraction);
+            }
+        }
+        return out;
+    }
+
+    // Falls back to the WAV a compact file is built from, for runs straight from the sources
+    static InputStream openResource(String path) {
+        InputStream in = findResource(path);
+        if (in == null && path.endsWith(ImaAdpcm.EXTENSION)) {
+            in = findResource(path.substring(0, path.length() - ImaAdpcm.EXTENSION.length()) + ".wav");
+        }
+        return in;
+    }
+
+    // Falls back to the system class loader, which some packaged launchers need
+    private static InputStream findResource(String path) {
+        InputStream in = AssetLoader.getResourceAsStream(path);
+        return in != null ? in : ClassLoader.getSystemResourceAsStream(path.substring(1));
+    }
+}
@@ -0,0 +1,202 @@
+package pawjump.game.audio;
+
+import java.util.Arrays;
+
+/**
+ * Sums every sound playing into one stream of 16-bit stereo blocks. Voices
+ * are fixed slots with a sample, a play position and a linear gain. Each
+ * decodes its sample a block at a time into a buffer of its own, so
+ * compressed samples are only ever decoded as far as they've played; mixing
+ * accumulates them in ints and clamps once, so nothing allocates after
+ * construction. Voices carry a tag (an effect id) so callers can stop, pause
+ * or limit a sound without tracking slots. Streamed sound, like music, is
+ * added from PcmSources after the voices.
+ *
+ * Not thread-safe: the audio thread owns it, or a test drives it directly.
+ */
+public final class SoftwareMixer {
+    private static final int FREE = -1;
+    private static final int GAIN_BITS = 12; // Fixed point for per-voice gain
+
+    private final int[] tags;
+    private final Sample[] samples;
+    private final short[][] blockBuffers; // The decoded block each voice is playing
+    private final int[] blockLengths; // Frames in it
+    private final int[] blockPositions; // Next frame to play from it
+    private final int[] nextBlocks;
+    private final int[] gains; // Linear, GAIN_BITS fixed point
+    private final boolean[] looping;
+    private final boolean[] paused;
+    private final long[] startOrder; // For stealing the voice started longest ago
+    private long starts;
+    private final int[] accumulator; // Interleaved stereo of the block being mixed
+    private PcmSource[] sources = new PcmSource[0];
+
+    public SoftwareMixer(int voiceCount, int maxBlockFrames) {
+        tags = new int[voiceCount];
+        samples = new Sample[voiceCount];
+        blockBuffers = new short[voiceCount][ImaAdpcm.BLOCK_FRAMES * 2];
+        blockLengths = new int[voiceCount];
+        blockPositions = new int[voiceCount];
+        nextBlocks = new int[voiceCount];
+        gains = new int[voiceCount];
+        looping = new boolean[voiceCount];
+        paused = new boolean[voiceCount];
+        startOrder = new long[voiceCount];
+        Arrays.fill(tags, FREE);
+        accumulator = new int[maxBlockFrames * 2];
+    }
+
+    // Set up before mixing starts
+    public void addSource(PcmSource source) {
+        sources = Arrays.copyOf(sources, sources.length + 1);
+        sources[sources.length - 1] = source;
+    }
+
+    /**
+     * Starts sample on a voice tagged tag, at most maxPerTag of which play at
+     * once; past that the oldest of them starts over with it. Returns false
+     * if every voice is taken by looping sounds.
+     */
+    public boolean play(Sample sample, float gain, boolean loop, int tag, int maxPerTag) {
+        int voice = FREE;
+        int oldestOfTag = FREE;
+        int oldestOneShot = FREE;
+        int sameTag = 0;
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] == FREE) {
+                if (voice == FREE) {
+                    voice = i;
+                }
+            } else if (tags[i] == tag) {
+                sameTag++;
+                if (oldestOfTag == FREE || startOrder[i] < startOrder[oldestOfTag]) {
+                    oldestOfTag = i;
+                }
+            } else if (!looping[i] && (oldestOneShot == FREE || startOrder[i] < startOrder[oldestOneShot])) {
+                oldestOneShot = i;
+            }
+        }
+        if (sameTag >= maxPerTag) {
+            voice = oldestOfTag;
+        } else if (voice == FREE) {
+            voice = oldestOneShot;
+        }
+        if (voice == FREE) {
+            return false;
+        }
+        tags[voice] = tag;
+        samples[voice] = sample;
+        blockLengths[voice] = 0;
+        blockPositions[voice] = 0;
+        nextBlocks[voice] = 0;
+        gains[voice] = Math.round(gain * (1 << GAIN_BITS));
+        looping[voice] = loop;
+        paused[voice] = false;
+        startOrder[voice] = starts++;
+        return true;
+    }
+
+    public void stop(int tag) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] == tag) {
+                release(i);
+            }
+        }
+    }
+
+    public void stopAll() {
+        for (int i = 0; i < tags.length; i++) {
+            release(i);
+        }
+    }
+
+    // Paused voices keep their place and pick up from it
+    public void setPaused(int tag, boolean pause) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] == tag) {
+                paused[i] = pause;
+            }
+        }
+    }
+
+    public boolean isPlaying(int tag) {
+        for (int t : tags) {
+            if (t == tag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getActiveVoices() {
+        int active = 0;
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] != FREE && !paused[i]) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    // Mixes the next frames frames into out as 16-bit signed little-endian stereo
+    public void mix(byte[] out, int frames) {
+        int values = frames * 2;
+        Arrays.fill(accumulator, 0, values, 0);
+        for (int voice = 0; voice < tags.length; voice++) {
+            if (tags[voice] != FREE && !paused[voice]) {
+                mixVoice(voice, values);
+            }
+        }
+        for (PcmSource source : sources) {
+            source.mixInto(accumulator, frames);
+        }
+        for (int i = 0; i < values; i++) {
+            int value = accumulator[i];
+            if (value > Short.MAX_VALUE) {
+                value = Short.MAX_VALUE;
+            } else if (value < Short.MIN_VALUE) {
+                value = Short.MIN_VALUE;
+            }
+            out[i * 2] = (byte) value;
+            out[i * 2 + 1] = (byte) (value >> 8);
+        }
+    }
+
+    private void mixVoice(int voice, int values) {
+        Sample sample = samples[voice];
+        short[] buffer = blockBuffers[voice];
+        int gain = gains[voice];
+        int read = blockPositions[voice] * 2;
+        int length = blockLengths[voice] * 2;
+        int written = 0;
+        while (written < values) {
+            if (read == length) {
+                int block = nextBlocks[voice];
+                if (block == sample.getBlocks()) {
+                    if (!looping[voice] || block == 0) {
+                        release(voice);
+                        return;
+                    }
+                    block = 0;
+                }
+                length = sample.decodeBlock(block, buffer) * 2;
+                nextBlocks[voice] = block + 1;
+                read = 0;
+            }
+            int run = Math.min(values - written, length - read);
+            for (int i = 0; i < run; i++) {
+                accumulator[written + i] += (buffer[read + i] * gain) >> GAIN_BITS;
+            }
+            written += run;
+            read += run;
+        }
+        blockPositions[voice] = read / 2;
+        blockLengths[voice] = length / 2;
+    }
+
+    private void release(int voice) {
+        tags[voice] = FREE;
+        samples[voice] = null;
+    }
+}
@@ -0,0 +1,21 @@
+package pawjump.game.audio;
+
+import pawjump.game.utils.Constants;
+
+// Ids of the sound effects, so playing one is an int posted to the audio thread rather than a name lookup
+public final class SoundEffect {
+    public static final int FISH = 0;
+    public static final int HURT = 1;
+    public static final int MEAT = 2;
+    public static final int SUPLEMEN = 3;
+    public static final int GAME_OVER = 4;
+    public static final int COUNT = 5;
+
+    // Indexed by id
+    static final String[] PATHS = {
+        Constants.AUDIO_FISH, Constants.AUDIO_HURT, Constants.AUDIO_MEAT, Constants.AUDIO_SUPLEMEN, Constants.AUDIO_GAMEOVER
+    };
+    static final float[] VOLUMES = { 1.0f, 1.0f, 0.8f, 0.8f, 0.8f }; // Hurt and fish a bit louder than the rest
+
+    private SoundEffect() {}
+}
@@ -0,0 +1,114 @@
+package pawjump.game.audio;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Records the mix to a WAV file, to check what the game sounds like without
+ * a sound card. Samples go through a buffered stream; the header's sizes are
+ * brought up to date once a second of audio and on close(), so a game that
+ * stops without closing leaves a file that plays all but the last second.
+ */
+public final class WavFileOutput implements AudioOutput {
+    private static final int HEADER_BYTES = 44;
+
+    private final OutputStream out;
+    private final FileChannel channel; // The sizes are patched through this, leaving the stream where it is
+    private final ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    private final long bytesPerSecond;
+    private long dataBytes;
+    private long headerDataBytes; // dataBytes as the header last had it
+    private boolean failed;
+
+    public WavFileOutput(String path, AudioFormat format) throws IOException {
+        FileOutputStream file = new FileOutputStream(path);
+        out = new BufferedOutputStream(file);
+        channel = file.getChannel();
+        int channels = format.getChannels();
+        int sampleRate = (int) format.getSampleRate();
+        int frameSize = format.getFrameSize();
+        bytesPerSecond = (long) sampleRate * frameSize;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(ascii("RIFF"));
+        header.putInt(HEADER_BYTES - 8);
+        header.put(ascii("WAVE"));
+        header.put(ascii("fmt "));
+        header.putInt(16);
+        header.putShort((short) 1); // PCM
+        header.putShort((short) channels);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * frameSize);
+        header.putShort((short) frameSize);
+        header.putShort((short) format.getSampleSizeInBits());
+        header.put(ascii("data"));
+        header.putInt(0);
+        out.write(header.array());
+    }
+
+    @Override
+    public void write(byte[] buffer, int length) {
+        if (failed) {
+            return;
+        }
+        try {
+            out.write(buffer, 0, length);
+            dataBytes += length;
+            if (dataBytes - headerDataBytes >= bytesPerSecond) {
+                updateHeader();
+            }
+        } catch (IOException e) {
+            failed = true; // Reported once, then the mix is dropped like NullOutput does
+            System.err.println("Failed to write audio: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isPaced() {
+        return false;
+    }
+
+    @Override
+    public int getBufferedFrames() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (!failed) {
+                updateHeader();
+            }
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close audio file: " + e.getMessage());
+        }
+    }
+
+    // Writes out what is buffered, then the RIFF and data sizes that cover it
+    private void updateHeader() throws IOException {
+        out.flush();
+        writeSize(4, HEADER_BYTES - 8 + dataBytes);
+        writeSize(40, dataBytes);
+        headerDataBytes = dataBytes;
+    }
+
+    private void writeSize(long position, long value) throws IOException {
+        size.clear();
+        size.putInt(0, (int) value);
+        while (size.hasRemaining()) {
+            channel.write(size, position + size.position());
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -9,7 +9,7 @@ public class BushObstacle extends Obstacle {
     }
 
     @Override
-    public void updateSpecific() {
-        // Static, no specific update needed beyond what Obstacle.move() does
+    public int getType() {
+        return EntityType.BUSH;
     }
 }
@@ -3,6 +3,9 @@ package pawjump.game.entities;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import pawjump.game.animation.SpriteAnimator;
+import pawjump.game.animation.SpriteSheetCache;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.ScaledImageCache;
 import pawjump.game.utils.Constants;
 
 public class ChasingCharacter extends Entity {
@@ -29,13 +32,8 @@ public class ChasingCharacter extends Entity {
     }
     
     private void initAnimations() {
-        // Load and slice the sprite sheet (6 frames)
-        Image chasingSheet = pawjump.game.utils.AssetLoader.loadImage(Constants.CHASING_CHARACTER_SHEET);
-        int frameWidth = chasingSheet.getWidth(null) / 6;
-        int frameHeight = chasingSheet.getHeight(null);
-        
-        runAnimator = new SpriteAnimator(Constants.CHASING_CHARACTER_SHEET, 6,
-                                        frameWidth, frameHeight,
+        // Shared, pre-sliced frames of the 6-frame sheet
+        runAnimator = new SpriteAnimator(SpriteSheetCache.get(Constants.CHASING_CHARACTER_SHEET, 6),
                                         Constants.CHASING_ANIM_DELAY, true);
     }
     
@@ -48,6 +46,7 @@ public class ChasingCharacter extends Entity {
         this.velocityX = 0;
         this.distanceTraveled = 0;
         this.startScore = currentScore;
+        savePreviousPosition(); // Appear from off-screen instead of sliding in from the old spot
         
         // Calculate target position (70 pixels behind player)
         this.targetX = player.getX() - Constants.CHASING_TARGET_DISTANCE;
@@ -127,15 +126,17 @@ public class ChasingCharacter extends Entity {
     }
     
     @Override
-    public void draw(Graphics2D g2d, double spriteScale) {
+    public void draw(Graphics2D g2d, double spriteScale, double alpha) {
         if (!isActive) return;
         
         // Calculate sprite dimensions with scaling
         double currentSpriteScale = 3.0; // Similar to player scale
         int spriteW = (int) (width * currentSpriteScale);
         int spriteH = (int) (height * currentSpriteScale);
-        int spriteX = (int) (x - (spriteW - width) / 2.0);
-        int spriteY = (int) (y + height - spriteH); // Align bottom of sprite with bottom of hitbox
+        double drawX = getRenderX(alpha);
+        double drawY = getRenderY(alpha);
+        int spriteX = (int) (drawX - (spriteW - width) / 2.0);
+        int spriteY = (int) (drawY + height - spriteH); // Align bottom of sprite with bottom of hitbox
         
         Image frameToDraw = null;
         if (runAnimator != null) {
@@ -143,11 +144,13 @@ public class ChasingCharacter extends Entity {
         }
         
         if (frameToDraw != null) {
-            g2d.drawImage(frameToDraw, spriteX, spriteY, spriteW, spriteH, null);
+            Image sprite = ScaledImageCache.getScaled(frameToDraw, spriteW, spriteH);
+            g2d.drawImage(sprite, spriteX, spriteY, null);
+            BlitStats.record(g2d, sprite);
         } else {
             // Fallback rectangle
             g2d.setColor(java.awt.Color.RED);
-            g2d.fillRect((int) x, (int) y, width, height);
+            g2d.fillRect((int) drawX, (int) drawY, width, height);
         }    }
     
     public void reset() {
@@ -160,6 +163,7 @@ public class ChasingCharacter extends Entity {
         this.distanceTraveled = 0;
         this.startScore = 0;
         this.targetX = 0;
+        savePreviousPosition();
         if (runAnimator != null) {
             runAnimator.reset();
         }
@@ -4,9 +4,12 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Rectangle;
 import pawjump.game.animation.SpriteAnimator;
+import pawjump.game.utils.CollisionDetector;
+import pawjump.game.utils.CollisionMask;
 
 public abstract class Entity {
     protected double x, y;
+    protected double prevX, prevY; // Position at the start of the current tick, for render interpolation
     protected int width, height;
     protected SpriteAnimator animator; // Can be null if not animated or uses single image
     protected Image staticImage; // For non-animated entities
@@ -16,10 +19,54 @@ public abstract class Entity {
         this.y = y;
         this.width = width;
         this.height = height;
+        this.prevX = x;
+        this.prevY = y;
     }
 
     public abstract void update(); // Basic update, might need parameters like speedMultiplier
-    public abstract void draw(Graphics2D g2d, double spriteScale); // spriteScale for effects
+    // spriteScale for effects, alpha is how far (0..1) the frame lies between the previous and current tick
+    public abstract void draw(Graphics2D g2d, double spriteScale, double alpha);
+
+    // Puts a pooled entity at a fresh spawn position, as if it had just been constructed there
+    protected void resetPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    // Called at the start of every simulation tick, before anything moves
+    public void savePreviousPosition() {
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    public double getRenderX(double alpha) {
+        return prevX + (x - prevX) * alpha;
+    }
+
+    public double getRenderY(double alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
+    // Opaque pixels of what is drawn this tick, or null to collide as the plain width x height box
+    public CollisionMask getCollisionMask() {
+        return null;
+    }
+
+    // Builds the masks of every frame this entity can show, so the tick never has to
+    public void prepareCollisionMasks() {
+        getCollisionMask();
+    }
+
+    // Where the mask's image is drawn relative to (x, y)
+    public int getCollisionMaskX() {
+        return 0;
+    }
+
+    public int getCollisionMaskY() {
+        return 0;
+    }
 
     public Rectangle getBounds() {
         return new Rectangle((int) x, (int) y, width, height);
@@ -30,12 +77,14 @@ public abstract class Entity {
     public void setX(double x) { this.x = x; }
     public double getY() { return y; }
     public void setY(double y) { this.y = y; }
+    public double getPrevX() { return prevX; }
+    public double getPrevY() { return prevY; }
     public int getWidth() { return width; }
     public void setWidth(int width) { this.width = width; }
     public int getHeight() { return height; }
     public void setHeight(int height) { this.height = height; }
 
     public boolean collidesWith(Entity other) {
-        return getBounds().intersects(other.getBounds());
+        return CollisionDetector.intersects(x, y, width, height, other.x, other.y, other.width, other.height);
     }
 }
@@ -0,0 +1,58 @@
+package pawjump.game.entities;
+
+import java.util.function.Supplier;
+
+/**
+ * Spare instances of one entity type, so spawning reuses an obstacle or item
+ * that has left the screen instead of constructing one (and looking up its
+ * images) every time. The pool holds at most capacity spares; anything
+ * released beyond that is left to the GC. Hits, misses and drops are counted
+ * so steady-state play can be checked to allocate nothing.
+ */
+public final class EntityPool<T extends Entity> {
+    private final Supplier<T> factory;
+    private final Object[] spares;
+    private int spareCount;
+    private long hits;
+    private long misses;
+    private long dropped;
+
+    public EntityPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.spares = new Object[capacity];
+    }
+
+    // Builds spares up front until there are count of them, or capacity, so play never needs more constructed
+    public void fill(int count) {
+        while (spareCount < Math.min(count, spares.length)) {
+            spares[spareCount++] = factory.get();
+        }
+    }
+
+    // A spare if there is one, else a new instance; callers reset() it before use either way
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (spareCount > 0) {
+            hits++;
+            T entity = (T) spares[--spareCount];
+            spares[spareCount] = null;
+            return entity;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    // Takes back an entity of this pool's type that is no longer in play
+    public void release(Entity entity) {
+        if (spareCount < spares.length) {
+            spares[spareCount++] = entity;
+        } else {
+            dropped++;
+        }
+    }
+
+    public int getSpareCount() { return spareCount; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getDropped() { return dropped; }
+}
@@ -0,0 +1,220 @@
+package pawjump.game.entities;
+
+import java.util.Arrays;
+import pawjump.game.animation.SpriteAnimator;
+
+/**
+ * The live obstacles or items of a run in structure-of-arrays form: positions,
+ * vertical motion, sizes, type tags and flags each sit in their own primitive
+ * array, so movement, culling and the collision pre-pass are straight loops
+ * over a few arrays instead of a virtual call per object. Removal swaps the
+ * last entity into the freed slot, so slots are dense but not in spawn order.
+ *
+ * The entity objects stay on as handles for drawing and item effects. The
+ * arrays are the authoritative state; a handle's position is brought up to
+ * date when it is fetched with get(), so only entities actually drawn or
+ * touched pay for it. Arrays grow by doubling and are otherwise reused, so a
+ * tick allocates nothing.
+ */
+public final class EntityStore<T extends Entity> {
+    private int count;
+    private double[] x;
+    private double[] y;
+    private double[] prevX;
+    private double[] prevY;
+    private double[] velocityY; // Vertical motion of moving obstacles, 0 for everything else
+    private double[] minY; // Range vertical motion bounces between
+    private double[] maxY;
+    private int[] widths;
+    private int[] heights;
+    private int[] reach; // How far the drawn sprite can overhang the box on either side
+    private int[] types; // EntityType tags
+    private boolean[] removed; // Collected; culled on the next update
+    private SpriteAnimator[] animators; // Null for static sprites
+    private Object[] handles;
+    private final EntityPool<?>[] pools; // Indexed by EntityType; removed handles go back to their pool
+
+    public EntityStore(int initialCapacity) {
+        this(initialCapacity, null);
+    }
+
+    public EntityStore(int initialCapacity, EntityPool<?>[] pools) {
+        this.pools = pools;
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    private void allocate(int capacity) {
+        x = copy(x, capacity);
+        y = copy(y, capacity);
+        prevX = copy(prevX, capacity);
+        prevY = copy(prevY, capacity);
+        velocityY = copy(velocityY, capacity);
+        minY = copy(minY, capacity);
+        maxY = copy(maxY, capacity);
+        widths = copy(widths, capacity);
+        heights = copy(heights, capacity);
+        reach = copy(reach, capacity);
+        types = copy(types, capacity);
+        removed = removed == null ? new boolean[capacity] : Arrays.copyOf(removed, capacity);
+        animators = animators == null ? new SpriteAnimator[capacity] : Arrays.copyOf(animators, capacity);
+        handles = handles == null ? new Object[capacity] : Arrays.copyOf(handles, capacity);
+    }
+
+    private static double[] copy(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static int[] copy(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    // Takes over the entity's current position and size; returns its slot
+    public int add(T handle, int type) {
+        if (count == x.length) {
+            allocate(count * 2);
+        }
+        int slot = count;
+        x[slot] = handle.x;
+        y[slot] = handle.y;
+        prevX[slot] = handle.prevX;
+        prevY[slot] = handle.prevY;
+        velocityY[slot] = 0;
+        minY[slot] = Double.NEGATIVE_INFINITY;
+        maxY[slot] = Double.POSITIVE_INFINITY;
+        widths[slot] = handle.width;
+        heights[slot] = handle.height;
+        reach[slot] = Math.max(0, -handle.getCollisionMaskX());
+        types[slot] = type;
+        removed[slot] = false;
+        animators[slot] = handle.animator;
+        handles[slot] = handle;
+        count++;
+        return slot;
+    }
+
+    // Moves the entity vertically by velocityY per tick, reversing at minY and maxY
+    public void setBounce(int slot, double velocityY, double minY, double maxY) {
+        this.velocityY[slot] = velocityY;
+        this.minY[slot] = minY;
+        this.maxY[slot] = maxY;
+    }
+
+    public void remove(int slot) {
+        release(slot);
+        int last = --count;
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            prevX[slot] = prevX[last];
+            prevY[slot] = prevY[last];
+            velocityY[slot] = velocityY[last];
+            minY[slot] = minY[last];
+            maxY[slot] = maxY[last];
+            widths[slot] = widths[last];
+            heights[slot] = heights[last];
+            reach[slot] = reach[last];
+            types[slot] = types[last];
+            removed[slot] = removed[last];
+            animators[slot] = animators[last];
+            handles[slot] = handles[last];
+        }
+        animators[last] = null;
+        handles[last] = null;
+    }
+
+    // Leaves the entity in place (and out of collisions) until the next update culls it
+    public void markRemoved(int slot) {
+        removed[slot] = true;
+    }
+
+    private void release(int slot) {
+        if (pools != null && pools[types[slot]] != null) {
+            pools[types[slot]].release((Entity) handles[slot]);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            release(i);
+        }
+        Arrays.fill(animators, 0, count, null);
+        Arrays.fill(handles, 0, count, null);
+        count = 0;
+    }
+
+    // Called at the start of every simulation tick, before anything moves
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, prevX, 0, count);
+        System.arraycopy(y, 0, prevY, 0, count);
+    }
+
+    /**
+     * One tick of motion: scrolls everything left by distance, runs vertical
+     * motion and sprite animations, and removes entities that have left the
+     * screen or were marked removed.
+     */
+    public void update(double distance) {
+        int i = 0;
+        while (i < count) {
+            x[i] -= distance;
+            if (removed[i] || x[i] + widths[i] < 0) {
+                remove(i); // The last entity moves into slot i and is updated next
+                continue;
+            }
+            y[i] += velocityY[i];
+            if (y[i] <= minY[i]) {
+                y[i] = minY[i];
+                velocityY[i] = Math.abs(velocityY[i]);
+            } else if (y[i] >= maxY[i]) {
+                y[i] = maxY[i];
+                velocityY[i] = -Math.abs(velocityY[i]);
+            }
+            if (animators[i] != null) {
+                animators[i].update(); // Advanced on the simulation tick, never per rendered frame
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Whether the entity's sprite can have come within [left, right) on the
+     * x axis during this tick. Conservative by a pixel, for the whole-pixel
+     * boxes the collision detector uses.
+     */
+    public boolean reaches(int slot, double left, double right) {
+        double from = Math.min(prevX[slot], x[slot]) - reach[slot] - 1;
+        double to = Math.max(prevX[slot], x[slot]) + widths[slot] + reach[slot] + 1;
+        return !removed[slot] && from < right && to > left;
+    }
+
+    // Rightmost left edge of anything in the store, or -infinity when empty
+    public double getMaxX() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, x[i]);
+        }
+        return max;
+    }
+
+    // The entity object, with its position brought up to date for drawing or effects
+    @SuppressWarnings("unchecked")
+    public T get(int slot) {
+        T handle = (T) handles[slot];
+        handle.x = x[slot];
+        handle.y = y[slot];
+        handle.prevX = prevX[slot];
+        handle.prevY = prevY[slot];
+        return handle;
+    }
+
+    public int size() { return count; }
+    public boolean isEmpty() { return count == 0; }
+    public double getX(int slot) { return x[slot]; }
+    public double getY(int slot) { return y[slot]; }
+    public double getPrevX(int slot) { return prevX[slot]; }
+    public double getPrevY(int slot) { return prevY[slot]; }
+    public int getWidth(int slot) { return widths[slot]; }
+    public int getHeight(int slot) { return heights[slot]; }
+    public int getType(int slot) { return types[slot]; }
+    public boolean isRemoved(int slot) { return removed[slot]; }
+}
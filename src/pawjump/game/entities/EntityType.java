@@ -0,0 +1,18 @@
+package pawjump.game.entities;
+
+// Type tags EntityStore keeps per entity, so loops over the store never need instanceof
+public final class EntityType {
+    public static final int BUSH = 0;
+    public static final int BIRD = 1;
+    public static final int MOVING_GROUND = 2;
+    public static final int FISH = 3;
+    public static final int MEAT = 4;
+    public static final int SUPLEMEN = 5;
+    public static final int COUNT = 6;
+
+    public static boolean isItem(int type) {
+        return type >= FISH;
+    }
+
+    private EntityType() {}
+}
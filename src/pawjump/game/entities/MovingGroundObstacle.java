@@ -16,16 +16,20 @@ public class MovingGroundObstacle extends Obstacle {
         this.moveDir = initialMoveDir;
     }
 
+    public void reset(double x, double y, int minY, int maxY, int initialMoveDir) {
+        reset(x, y);
+        this.minY = minY;
+        this.maxY = maxY;
+        this.moveDir = initialMoveDir;
+    }
+
     @Override
-    public void updateSpecific() {
-        // Vertical movement
-        this.y += moveDir * moveSpeed;
-        if (this.y <= minY) {
-            this.y = minY;
-            moveDir = 1; // Move down
-        } else if (this.y >= maxY) {
-            this.y = maxY;
-            moveDir = -1; // Move up
-        }
+    public int getType() {
+        return EntityType.MOVING_GROUND;
     }
+
+    // The EntityStore bounces the obstacle between minY and maxY, starting in moveDir
+    public double getVelocityY() { return moveDir * moveSpeed; }
+    public int getMinY() { return minY; }
+    public int getMaxY() { return maxY; }
 }
@@ -2,60 +2,101 @@ package pawjump.game.entities;
 
 import java.awt.Graphics2D;
 import java.awt.Image;
+import pawjump.game.animation.SpriteSheet;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.CompatibleImages;
+import pawjump.game.render.ScaledImageCache;
+import pawjump.game.utils.CollisionMask;
 
 public abstract class Obstacle extends Entity {
     protected Image image; // For simple, non-animated obstacles
-    protected boolean isOffScreen = false;
+    private final String imagePath;
+    private int imageGeneration;
 
     public Obstacle(double x, double y, int width, int height, String imagePath) {
         super(x, y, width, height);
-        if (imagePath != null && !imagePath.isEmpty()) {
+        this.imagePath = imagePath != null && !imagePath.isEmpty() ? imagePath : null;
+        if (this.imagePath != null) {
             this.image = pawjump.game.utils.AssetLoader.loadImage(imagePath);
+            this.imageGeneration = CompatibleImages.getGeneration();
         }
     }
 
-    public void move(double speed, double speedMultiplier) {
-        this.x -= (speed * speedMultiplier);
-        if (this.x + this.width < 0) {
-            isOffScreen = true;
-        }
+    // Reinitializes a pooled obstacle for a new spawn
+    public void reset(double x, double y) {
+        resetPosition(x, y);
     }
 
     @Override
     public void update() {
-        // Basic obstacles might not need complex update logic beyond movement
-        // Movement is handled by GameManager or GamePanel calling move()
+        // Movement, vertical motion and animation run in the GameManager's EntityStore
     }
-    
-    // Specific update for moving obstacles etc.
-    public abstract void updateSpecific();
 
+    // EntityType tag the store keeps for this obstacle
+    public abstract int getType();
 
-    @Override
-    public void draw(Graphics2D g2d, double spriteScale) { // spriteScale might not be used for obstacles
+    // Animators are advanced by the EntityStore on the simulation tick, never per rendered frame,
+    // so this is the same frame for the tick's collisions and every frame drawn until the next tick
+    protected Image getCurrentSprite() {
         if (animator != null) {
-            animator.update(); // Update animator if entity has one
-            Image frame = animator.getCurrentFrame();
-            int drawW = width, drawH = height;
-            int drawX = (int)x, drawY = (int)y;
-
-            if (this instanceof BirdObstacle) { // Example of type-specific drawing
-                drawW = (int)(width * 1.5);
-                drawH = (int)(height * 1.5);
-                drawX = (int)x + (width - drawW) / 2;
-                drawY = (int)y + (height - drawH) / 2;
-            }
-            g2d.drawImage(frame, drawX, drawY, drawW, drawH, null);
-        } else if (image != null) {
-            // Always draw at (x, y) where y = GROUND_Y - height for ground obstacles
-            g2d.drawImage(image, (int) x, (int) y, width, height, null);
+            return animator.getCurrentFrame();
+        }
+        if (imagePath != null && imageGeneration != CompatibleImages.getGeneration()) {
+            image = pawjump.game.utils.AssetLoader.loadImage(imagePath); // Converted again for a new display
+            imageGeneration = CompatibleImages.getGeneration();
+        }
+        return image;
+    }
+
+    // Size the sprite is drawn at, centered on the obstacle's box
+    protected int getSpriteWidth() {
+        return width;
+    }
+
+    protected int getSpriteHeight() {
+        return height;
+    }
+
+    @Override
+    public CollisionMask getCollisionMask() {
+        return CollisionMask.get(getCurrentSprite(), getSpriteWidth(), getSpriteHeight());
+    }
+
+    @Override
+    public void prepareCollisionMasks() {
+        if (animator == null) {
+            super.prepareCollisionMasks();
+            return;
+        }
+        SpriteSheet sheet = animator.getSheet();
+        for (int i = 0; i < sheet.getFrameCount(); i++) {
+            CollisionMask.get(sheet.getFrame(i), getSpriteWidth(), getSpriteHeight());
+        }
+    }
+
+    @Override
+    public int getCollisionMaskX() {
+        return (width - getSpriteWidth()) / 2;
+    }
+
+    @Override
+    public int getCollisionMaskY() {
+        return (height - getSpriteHeight()) / 2;
+    }
+
+    @Override
+    public void draw(Graphics2D g2d, double spriteScale, double alpha) { // spriteScale might not be used for obstacles
+        Image frame = getCurrentSprite();
+        if (frame != null) {
+            // Ground obstacles have y = GROUND_Y - height, so an unscaled sprite sits on the ground
+            int drawX = (int) getRenderX(alpha) + getCollisionMaskX();
+            int drawY = (int) getRenderY(alpha) + getCollisionMaskY();
+            Image sprite = ScaledImageCache.getScaled(frame, getSpriteWidth(), getSpriteHeight());
+            g2d.drawImage(sprite, drawX, drawY, null);
+            BlitStats.record(g2d, sprite);
         }
         // else, draw bounds for debugging?
         // g2d.setColor(java.awt.Color.RED);
-        // g2d.drawRect((int)x, (int)y, width, height);
-    }
-    
-    public boolean isOffScreen() {
-        return isOffScreen;
+        // g2d.drawRect(drawX, drawY, width, height);
     }
 }
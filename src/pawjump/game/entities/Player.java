@@ -2,8 +2,14 @@ package pawjump.game.entities;
 import java.awt.AlphaComposite; // <--- ADD THIS LINE
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import pawjump.game.animation.SpriteAnimator;
+import pawjump.game.animation.SpriteSheetCache;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.ScaledImageCache;
+import pawjump.game.utils.CollisionMask;
 import pawjump.game.utils.Constants;
+import pawjump.game.utils.GameClock;
 
 public class Player extends Entity {
     private int health;
@@ -26,14 +32,16 @@ public class Player extends Entity {
     private boolean deathAnimationDone;
 
     private boolean meatEffectActive;
-    private long meatEffectStartTime;
+    private long meatEffectStartTick;
     private boolean suplemenEffectActive;
     private boolean suplemenEffectUsed;
     
     private Image shineImage;
+    private final GameClock clock; // Simulation clock timed effects are measured against
 
-    public Player(double x, double y) {
+    public Player(double x, double y, GameClock clock) {
         super(x, y, Constants.PLAYER_WIDTH, Constants.PLAYER_HEIGHT);
+        this.clock = clock;
         this.maxHealth = Constants.PLAYER_MAX_HEALTH;
         this.health = this.maxHealth;
         this.velocityY = 0;
@@ -45,30 +53,54 @@ public class Player extends Entity {
     }
 
     private void initAnimations() {
-        // Walk Animation
-        walkAnimator = new SpriteAnimator(
-            Constants.PLAYER_WALK_SHEET, 6,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_WALK_SHEET).getWidth(null) / 6,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_WALK_SHEET).getHeight(null),
+        // Frames come from the shared sheet cache, each sheet is decoded and sliced once per game
+        walkAnimator = new SpriteAnimator(SpriteSheetCache.get(Constants.PLAYER_WALK_SHEET, 6),
             Constants.WALK_ANIM_DELAY, true);
-        // Hurt Animation
-        hurtAnimator = new SpriteAnimator(
-            Constants.PLAYER_HURT_SHEET, 2,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_HURT_SHEET).getWidth(null) / 2,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_HURT_SHEET).getHeight(null),
+        hurtAnimator = new SpriteAnimator(SpriteSheetCache.get(Constants.PLAYER_HURT_SHEET, 2),
             Constants.HURT_ANIM_DELAY, false); // Non-looping
-        // Attack Animation
-        attackAnimator = new SpriteAnimator(
-            Constants.PLAYER_ATTACK_SHEET, 4,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_ATTACK_SHEET).getWidth(null) / 4,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_ATTACK_SHEET).getHeight(null),
+        attackAnimator = new SpriteAnimator(SpriteSheetCache.get(Constants.PLAYER_ATTACK_SHEET, 4),
             Constants.ATTACK_ANIM_DELAY, false); // Non-looping
-        // Death Animation
-        deathAnimator = new SpriteAnimator(
-            Constants.PLAYER_DEATH_SHEET, 4,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_DEATH_SHEET).getWidth(null) / 4,
-            pawjump.game.utils.AssetLoader.loadImage(Constants.PLAYER_DEATH_SHEET).getHeight(null),
+        deathAnimator = new SpriteAnimator(SpriteSheetCache.get(Constants.PLAYER_DEATH_SHEET, 4),
             Constants.DEATH_ANIM_DELAY, false); // Non-looping
+        prepareCollisionMasks();
+    }
+
+    // Every frame at both sizes the player is drawn at
+    @Override
+    public void prepareCollisionMasks() {
+        SpriteAnimator[] animators = {walkAnimator, hurtAnimator, attackAnimator, deathAnimator};
+        double[] scales = {Constants.PLAYER_SPRITE_SCALE_NORMAL, Constants.PLAYER_SPRITE_SCALE_MEAT_EFFECT};
+        for (double scale : scales) {
+            for (SpriteAnimator animator : animators) {
+                for (int i = 0; i < animator.getTotalFrames(); i++) {
+                    CollisionMask.get(animator.getSheet().getFrame(i), (int) (width * scale), (int) (height * scale));
+                }
+            }
+        }
+    }
+
+    /**
+     * The union of every frame's opaque bounds at the largest size the player
+     * is drawn, relative to the top-left of the box: all the player can touch
+     * things with. The box itself if no frame loaded.
+     */
+    public Rectangle getReach() {
+        SpriteAnimator[] animators = {walkAnimator, hurtAnimator, attackAnimator, deathAnimator};
+        int spriteW = (int) (width * Constants.PLAYER_SPRITE_SCALE_MEAT_EFFECT);
+        int spriteH = (int) (height * Constants.PLAYER_SPRITE_SCALE_MEAT_EFFECT);
+        Rectangle reach = null;
+        for (SpriteAnimator animator : animators) {
+            for (int i = 0; i < animator.getTotalFrames(); i++) {
+                CollisionMask mask = CollisionMask.get(animator.getSheet().getFrame(i), spriteW, spriteH);
+                if (mask != null && mask.getWidth() > 0) {
+                    // Placed the way getCollisionMaskX() and getCollisionMaskY() place it
+                    Rectangle bounds = new Rectangle((width - spriteW) / 2 + mask.getLeft(), height - spriteH + mask.getTop(),
+                            mask.getWidth(), mask.getHeight());
+                    reach = reach == null ? bounds : reach.union(bounds);
+                }
+            }
+        }
+        return reach != null ? reach : new Rectangle(0, 0, width, height);
     }
 
     public void jump() {
@@ -81,7 +113,7 @@ public class Player extends Entity {
     public void fall() {
         if (jumping && !isDying && velocityY < 0) {
             // Interrupt the jump by setting velocity to a positive value (downward)
-            this.velocityY = Math.abs(velocityY) * 0.8; // Convert upward velocity to downward, slightly reduced
+            this.velocityY = Math.abs(velocityY) * Constants.PLAYER_FALL_VELOCITY_FACTOR; // Convert upward velocity to downward, slightly reduced
         }
     }
 
@@ -112,7 +144,7 @@ public class Player extends Entity {
 
     public void activateMeatEffect() {
         this.meatEffectActive = true;
-        this.meatEffectStartTime = System.currentTimeMillis();
+        this.meatEffectStartTick = clock.getTick();
         startAttackAnimation();
     }
 
@@ -150,7 +182,7 @@ public class Player extends Entity {
     @Override
     public void update() {
         // Update effects
-        if (meatEffectActive && System.currentTimeMillis() - meatEffectStartTime > Constants.MEAT_EFFECT_DURATION_MS) {
+        if (meatEffectActive && clock.ticksSince(meatEffectStartTick) > Constants.MEAT_EFFECT_DURATION_TICKS) {
             meatEffectActive = false;
         }
         // Suplemen effect duration is typically one hit or until phase ends (managed by GameManager)
@@ -217,14 +249,42 @@ public class Player extends Entity {
         }
     }
 
+    // The sprite is drawn larger than the box, centered on it horizontally and standing on its bottom edge
     @Override
-    public void draw(Graphics2D g2d, double spriteScaleOverride) {
-        double currentSpriteScale = meatEffectActive ? Constants.PLAYER_SPRITE_SCALE_MEAT_EFFECT : Constants.PLAYER_SPRITE_SCALE_NORMAL;
-        
-        int spriteW = (int) (width * currentSpriteScale);
-        int spriteH = (int) (height * currentSpriteScale);
-        int spriteX = (int) (x - (spriteW - width) / 2.0);
-        int spriteY = (int) (y + height - spriteH); // Align bottom of sprite with bottom of hitbox
+    public CollisionMask getCollisionMask() {
+        return currentAnimator != null ? CollisionMask.get(currentAnimator.getCurrentFrame(), getSpriteWidth(), getSpriteHeight()) : null;
+    }
+
+    @Override
+    public int getCollisionMaskX() {
+        return (width - getSpriteWidth()) / 2;
+    }
+
+    @Override
+    public int getCollisionMaskY() {
+        return height - getSpriteHeight();
+    }
+
+    private double getSpriteScale() {
+        return meatEffectActive ? Constants.PLAYER_SPRITE_SCALE_MEAT_EFFECT : Constants.PLAYER_SPRITE_SCALE_NORMAL;
+    }
+
+    private int getSpriteWidth() {
+        return (int) (width * getSpriteScale());
+    }
+
+    private int getSpriteHeight() {
+        return (int) (height * getSpriteScale());
+    }
+
+    @Override
+    public void draw(Graphics2D g2d, double spriteScaleOverride, double alpha) {
+        int spriteW = getSpriteWidth();
+        int spriteH = getSpriteHeight();
+        double drawX = getRenderX(alpha);
+        double drawY = getRenderY(alpha);
+        int spriteX = (int) (drawX - (spriteW - width) / 2.0);
+        int spriteY = (int) (drawY + height - spriteH); // Align bottom of sprite with bottom of hitbox
 
         Image frameToDraw = null;
         if (currentAnimator != null) {
@@ -242,17 +302,21 @@ public class Player extends Entity {
             // Save current composite
             java.awt.Composite oldComposite = g2d.getComposite();
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.85f));
-            g2d.drawImage(shineImage, shineX, shineY, shineW, shineH, null);
+            Image shine = ScaledImageCache.getScaled(shineImage, shineW, shineH);
+            g2d.drawImage(shine, shineX, shineY, null);
+            BlitStats.record(g2d, shine);
             // Restore composite
             g2d.setComposite(oldComposite);
         }
 
 
         if (frameToDraw != null) {
-            g2d.drawImage(frameToDraw, spriteX, spriteY, spriteW, spriteH, null);
+            Image sprite = ScaledImageCache.getScaled(frameToDraw, spriteW, spriteH);
+            g2d.drawImage(sprite, spriteX, spriteY, null);
+            BlitStats.record(g2d, sprite);
         } else { // Fallback
             g2d.setColor(java.awt.Color.CYAN);
-            g2d.fillRect((int) x, (int) y, width, height);
+            g2d.fillRect((int) drawX, (int) drawY, width, height);
         }
     }
     
@@ -272,6 +336,7 @@ public class Player extends Entity {
         this.hurtTicks = 0;
         this.attackTicks = 0;
         this.deathTicks = 0;
+        savePreviousPosition(); // Don't interpolate from wherever the last run ended
         
         walkAnimator.reset();
         hurtAnimator.reset();
@@ -284,6 +349,8 @@ public class Player extends Entity {
 
     // Getters
     public int getHealth() { return health; }
+    public double getVelocityY() { return velocityY; }
+    public boolean isJumping() { return jumping; }
     public boolean isDying() { return isDying; }
     public boolean isMeatEffectActive() { return meatEffectActive; }
     public boolean isSuplemenEffectActive() { return suplemenEffectActive; }
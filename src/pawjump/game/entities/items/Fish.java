@@ -1,8 +1,8 @@
 package pawjump.game.entities.items;
 
+import pawjump.game.entities.EntityType;
 import pawjump.game.entities.Player;
 import pawjump.game.GameManager;
-import pawjump.game.utils.AudioManager;
 import pawjump.game.utils.Constants;
 
 public class Fish extends Item {
@@ -13,10 +13,15 @@ public class Fish extends Item {
     @Override
     public void applyEffect(Player player, GameManager gameManager) {
         if (!isCollected()) {
-            AudioManager.getInstance().playFishSound(); // Play fish collection sound
+            gameManager.getAudio().playFishSound(); // Play fish collection sound
             gameManager.collectFish();
             player.startAttackAnimation(); // Player performs attack animation on collection
             setCollected(true);
         }
     }
+
+    @Override
+    public int getType() {
+        return EntityType.FISH;
+    }
 }
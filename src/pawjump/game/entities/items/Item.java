@@ -5,39 +5,66 @@ import java.awt.Image;
 import pawjump.game.GameManager; // To interact with game state if needed by item effect
 import pawjump.game.entities.Entity;
 import pawjump.game.entities.Player;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.CompatibleImages;
+import pawjump.game.render.ScaledImageCache;
+import pawjump.game.utils.CollisionMask;
 
 public abstract class Item extends Entity {
     protected Image image;
+    private final String imagePath;
+    private int imageGeneration;
     protected boolean isActive; // If the item is currently on screen and collectible
     protected boolean collected;
 
     public Item(double x, double y, int width, int height, String imagePath) {
         super(x, y, width, height);
-        if (imagePath != null && !imagePath.isEmpty()) {
+        this.imagePath = imagePath != null && !imagePath.isEmpty() ? imagePath : null;
+        if (this.imagePath != null) {
             this.image = pawjump.game.utils.AssetLoader.loadImage(imagePath);
+            this.imageGeneration = CompatibleImages.getGeneration();
         }
         this.isActive = true; // Assumed active when created
         this.collected = false;
     }
 
-    public void move(double speed, double speedMultiplier) {
-        this.x -= (speed * speedMultiplier);
-        if (this.x + this.width < 0) {
-            this.isActive = false; // Mark as inactive if it moves off-screen
-        }
+    // Reinitializes a pooled item for a new spawn
+    public void reset(double x, double y) {
+        resetPosition(x, y);
+        this.isActive = true;
+        this.collected = false;
     }
-    
+
     @Override
     public void update() {
-        // Basic items might not need complex update logic beyond movement
-        // Movement is handled by GameManager calling move()
+        // Movement runs in the GameManager's EntityStore, which drops items once they leave the screen
     }
 
+    // EntityType tag the store keeps for this item
+    public abstract int getType();
+
     @Override
-    public void draw(Graphics2D g2d, double spriteScale) { // spriteScale typically not used for items
-        if (isActive && image != null && !collected) {
-            g2d.drawImage(image, (int) x, (int) y, width, height, null);
+    public void draw(Graphics2D g2d, double spriteScale, double alpha) { // spriteScale typically not used for items
+        Image current = getImage();
+        if (isActive && current != null && !collected) {
+            Image sprite = ScaledImageCache.getScaled(current, width, height);
+            g2d.drawImage(sprite, (int) getRenderX(alpha), (int) getRenderY(alpha), null);
+            BlitStats.record(g2d, sprite);
+        }
+    }
+
+    @Override
+    public CollisionMask getCollisionMask() {
+        return CollisionMask.get(getImage(), width, height);
+    }
+
+    // The loaded image, fetched again once a new display has had it converted
+    private Image getImage() {
+        if (imagePath != null && imageGeneration != CompatibleImages.getGeneration()) {
+            image = pawjump.game.utils.AssetLoader.loadImage(imagePath);
+            imageGeneration = CompatibleImages.getGeneration();
         }
+        return image;
     }
 
     public boolean isActive() {
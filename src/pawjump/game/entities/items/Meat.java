@@ -1,8 +1,8 @@
 package pawjump.game.entities.items;
 
+import pawjump.game.entities.EntityType;
 import pawjump.game.entities.Player;
 import pawjump.game.GameManager;
-import pawjump.game.utils.AudioManager;
 import pawjump.game.utils.Constants;
 
 public class Meat extends Item {
@@ -13,11 +13,16 @@ public class Meat extends Item {
     @Override
     public void applyEffect(Player player, GameManager gameManager) {
         if (!isCollected()) {
-            AudioManager.getInstance().playMeatSound(); // Play meat collection sound
+            gameManager.getAudio().playMeatSound(); // Play meat collection sound
             player.activateMeatEffect();
             // GameManager might track meat phase if needed for respawn logic
             gameManager.itemCollected(this);
             setCollected(true);
         }
     }
+
+    @Override
+    public int getType() {
+        return EntityType.MEAT;
+    }
 }
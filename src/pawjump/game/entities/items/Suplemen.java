@@ -1,8 +1,8 @@
 package pawjump.game.entities.items;
 
+import pawjump.game.entities.EntityType;
 import pawjump.game.entities.Player;
 import pawjump.game.GameManager;
-import pawjump.game.utils.AudioManager;
 import pawjump.game.utils.Constants;
 
 public class Suplemen extends Item {
@@ -13,10 +13,15 @@ public class Suplemen extends Item {
     @Override
     public void applyEffect(Player player, GameManager gameManager) {
         if (!isCollected()) {
-            AudioManager.getInstance().playSuplemenSound(); // Play suplemen collection sound
+            gameManager.getAudio().playSuplemenSound(); // Play suplemen collection sound
             player.activateSuplemenEffect();
             gameManager.itemCollected(this); // For GameManager to know suplemen was taken this phase
             setCollected(true);
         }
     }
+
+    @Override
+    public int getType() {
+        return EntityType.SUPLEMEN;
+    }
 }
@@ -0,0 +1,169 @@
+package pawjump.game.level;
+
+import java.util.Arrays;
+import pawjump.game.utils.Constants;
+
+/**
+ * The player's jump, worked out once from PLAYER_JUMP_VELOCITY,
+ * PLAYER_GRAVITY and Player.fall() into lookup tables, so the level
+ * generator can tell in O(1) whether a placement can be cleared or reached
+ * instead of simulating jumps.
+ *
+ * Ticks of a jump count from the takeoff tick, tick 1, the tick jump() is
+ * applied on. Rises are pixels the bottom of the player's box is above the
+ * ground. Horizontal speed only decides how many ticks something overlaps the
+ * player, which overlapTicks() works out from the width the player reaches
+ * across (see Player.getReach()).
+ */
+public final class JumpEnvelope {
+    public static final int AIR_TICKS; // Takeoff to landing; also the least time from one takeoff to the next
+    public static final int PEAK_RISE;
+
+    private static final int MAX_OVERLAP_TICKS = 48; // Longer overlaps can't be jumped at all
+    private static final int[] FIRST_ABOVE; // By height: first tick of a full jump at least that high
+    private static final int[] LAST_ABOVE; // By height: last such tick
+
+    // Rise range at each tick around clearing a ground obstacle, by overlap ticks and by tick relative
+    // to the first tick of the overlap (offset by AIR_TICKS); fall() is allowed once it is cleared
+    private static final int CLEARING_HEIGHT = Constants.OBSTACLE_HEIGHT;
+    private static final int[][] CLEARING_LOW;
+    private static final int[][] CLEARING_HIGH;
+
+    static {
+        // A full jump plus one cut short by fall() before each of its ticks
+        double[] full = trajectory(0);
+        AIR_TICKS = full.length - 1;
+        double[][] trajectories = new double[AIR_TICKS + 1][];
+        trajectories[0] = full;
+        for (int fallTick = 1; fallTick <= AIR_TICKS; fallTick++) {
+            trajectories[fallTick] = trajectory(fallTick);
+        }
+
+        double peak = 0;
+        for (double rise : full) {
+            peak = Math.max(peak, rise);
+        }
+        PEAK_RISE = (int) peak;
+        FIRST_ABOVE = new int[PEAK_RISE + 1];
+        LAST_ABOVE = new int[PEAK_RISE + 1];
+        for (int height = 0; height <= PEAK_RISE; height++) {
+            int first = 1;
+            while (full[first] < height) {
+                first++;
+            }
+            int last = first;
+            while (last + 1 < AIR_TICKS && full[last + 1] >= height) {
+                last++;
+            }
+            FIRST_ABOVE[height] = first;
+            LAST_ABOVE[height] = last;
+        }
+
+        int span = 2 * AIR_TICKS + 1;
+        CLEARING_LOW = new int[MAX_OVERLAP_TICKS + 1][span];
+        CLEARING_HIGH = new int[MAX_OVERLAP_TICKS + 1][span];
+        for (int overlap = 1; overlap <= MAX_OVERLAP_TICKS; overlap++) {
+            Arrays.fill(CLEARING_LOW[overlap], 0);
+            Arrays.fill(CLEARING_HIGH[overlap], PEAK_RISE);
+            if (!canClear(CLEARING_HEIGHT, overlap)) {
+                continue; // Gets hit whatever the player does; nothing to plan around
+            }
+            // Takeoffs that clear it, relative to the first tick of the overlap
+            int earliest = overlap - LAST_ABOVE[CLEARING_HEIGHT];
+            int latest = 1 - FIRST_ABOVE[CLEARING_HEIGHT];
+            double[] low = new double[span];
+            double[] high = new double[span];
+            Arrays.fill(low, Double.POSITIVE_INFINITY);
+            Arrays.fill(high, Double.NEGATIVE_INFINITY);
+            for (int takeoff = earliest; takeoff <= latest; takeoff++) {
+                int clearedTick = overlap - takeoff + 1; // Jump tick after the last overlapping one
+                for (int fallTick = 0; fallTick <= AIR_TICKS; fallTick++) {
+                    if (fallTick != 0 && fallTick < clearedTick) {
+                        continue;
+                    }
+                    double[] rise = trajectories[fallTick];
+                    for (int tick = earliest; tick <= latest + AIR_TICKS - 1; tick++) {
+                        int jumpTick = tick - takeoff + 1;
+                        double r = jumpTick >= 1 && jumpTick < rise.length ? rise[jumpTick] : 0; // On the ground around the jump
+                        low[tick + AIR_TICKS] = Math.min(low[tick + AIR_TICKS], r);
+                        high[tick + AIR_TICKS] = Math.max(high[tick + AIR_TICKS], r);
+                    }
+                }
+            }
+            for (int i = 0; i < span; i++) {
+                if (low[i] <= high[i]) {
+                    CLEARING_LOW[overlap][i] = (int) Math.ceil(low[i]);
+                    CLEARING_HIGH[overlap][i] = (int) Math.floor(high[i]);
+                }
+            }
+        }
+    }
+
+    private JumpEnvelope() {}
+
+    // Rise after each tick of a jump, 0 at takeoff and landing; fall() is applied before fallTick, or never if 0
+    private static double[] trajectory(int fallTick) {
+        double[] rise = new double[32];
+        double y = 0; // Relative to standing on the ground, down is positive like screen coordinates
+        double velocityY = Constants.PLAYER_JUMP_VELOCITY;
+        int tick = 0;
+        do {
+            tick++;
+            if (tick == fallTick && velocityY < 0) {
+                velocityY = Math.abs(velocityY) * Constants.PLAYER_FALL_VELOCITY_FACTOR;
+            }
+            velocityY += Constants.PLAYER_GRAVITY;
+            y = Math.min(y + velocityY, 0);
+            if (tick == rise.length) {
+                rise = Arrays.copyOf(rise, tick * 2);
+            }
+            rise[tick] = -y;
+        } while (y < 0);
+        return Arrays.copyOf(rise, tick + 1);
+    }
+
+    // Ticks something width wide, moving at speed pixels per tick, overlaps a player reaching playerWidth across
+    public static int overlapTicks(int width, int playerWidth, double speed) {
+        return (int) Math.ceil((width + playerWidth) / speed);
+    }
+
+    // Whether one jump keeps the player at least height up for overlapTicks ticks in a row
+    public static boolean canClear(int height, int overlapTicks) {
+        if (height <= 0) {
+            return true;
+        }
+        return height <= PEAK_RISE && LAST_ABOVE[height] - FIRST_ABOVE[height] + 1 >= overlapTicks;
+    }
+
+    /**
+     * Fewest ticks between two obstacles reaching the player, so that the
+     * earliest jump clearing the first lands in time to clear the second.
+     */
+    public static int minSpacingTicks(int firstHeight, int firstOverlapTicks, int secondHeight) {
+        if (firstHeight <= 0 || secondHeight <= 0) {
+            return firstOverlapTicks; // One of them is passed on foot
+        }
+        int firstTakeoff = firstOverlapTicks - LAST_ABOVE[Math.min(firstHeight, PEAK_RISE)];
+        int secondTakeoffBeforeArrival = 1 - FIRST_ABOVE[Math.min(secondHeight, PEAK_RISE)];
+        return firstTakeoff + AIR_TICKS - secondTakeoffBeforeArrival;
+    }
+
+    /**
+     * Lowest and highest rise the player can be at, tick ticks after a
+     * standard ground obstacle starts overlapping them for overlapTicks, given
+     * that they clear it. Away from the obstacle that is anything a jump reaches.
+     */
+    public static int lowestRiseClearing(int overlapTicks, int tick) {
+        if (overlapTicks < 1 || overlapTicks > MAX_OVERLAP_TICKS || tick < -AIR_TICKS || tick > AIR_TICKS) {
+            return 0;
+        }
+        return CLEARING_LOW[overlapTicks][tick + AIR_TICKS];
+    }
+
+    public static int highestRiseClearing(int overlapTicks, int tick) {
+        if (overlapTicks < 1 || overlapTicks > MAX_OVERLAP_TICKS || tick < -AIR_TICKS || tick > AIR_TICKS) {
+            return PEAK_RISE;
+        }
+        return CLEARING_HIGH[overlapTicks][tick + AIR_TICKS];
+    }
+}
@@ -0,0 +1,74 @@
+package pawjump.game.level;
+
+import java.util.Arrays;
+import pawjump.game.utils.Constants;
+
+/**
+ * The spawns of one fixed-length stretch of a run, sorted by the distance
+ * (in meters) at which each one enters on the right edge of the screen.
+ * Kept as parallel arrays and reused, like EntityStore, so handing chunks
+ * between the generator thread and the simulation allocates nothing.
+ *
+ * A chunk's contents depend only on the run seed and the chunk index, so the
+ * same chunk built on any thread, at any time, is identical.
+ */
+public final class LevelChunk {
+    private long seed;
+    private int index;
+    private int count;
+    private double[] meters = new double[16];
+    private int[] types = new int[16]; // EntityType tags
+    private int[] ys = new int[16];
+    private int[] directions = new int[16]; // Initial vertical direction of moving obstacles, 0 otherwise
+
+    // Empties the chunk and labels it with what it is about to hold
+    void begin(long seed, int index) {
+        this.seed = seed;
+        this.index = index;
+        this.count = 0;
+    }
+
+    // Inserts in meter order; equal meters keep the order they were added in
+    void add(double meter, int type, int y, int direction) {
+        if (count == meters.length) {
+            meters = Arrays.copyOf(meters, count * 2);
+            types = Arrays.copyOf(types, count * 2);
+            ys = Arrays.copyOf(ys, count * 2);
+            directions = Arrays.copyOf(directions, count * 2);
+        }
+        int at = count;
+        while (at > 0 && meters[at - 1] > meter) {
+            at--;
+        }
+        System.arraycopy(meters, at, meters, at + 1, count - at);
+        System.arraycopy(types, at, types, at + 1, count - at);
+        System.arraycopy(ys, at, ys, at + 1, count - at);
+        System.arraycopy(directions, at, directions, at + 1, count - at);
+        meters[at] = meter;
+        types[at] = type;
+        ys[at] = y;
+        directions[at] = direction;
+        count++;
+    }
+
+    public static double getStartMeter(int index) {
+        return index * (double) Constants.LEVEL_CHUNK_METERS;
+    }
+
+    public static int indexAt(double meter) {
+        return (int) Math.floor(meter / Constants.LEVEL_CHUNK_METERS);
+    }
+
+    public boolean isFor(long seed, int index) {
+        return this.seed == seed && this.index == index;
+    }
+
+    public long getSeed() { return seed; }
+    public int getIndex() { return index; }
+    public double getEndMeter() { return getStartMeter(index + 1); }
+    public int size() { return count; }
+    public double getMeter(int i) { return meters[i]; }
+    public int getType(int i) { return types[i]; }
+    public int getY(int i) { return ys[i]; }
+    public int getDirection(int i) { return directions[i]; }
+}
@@ -0,0 +1,291 @@
+package pawjump.game.level;
+
+import java.awt.Rectangle;
+import java.util.Random;
+import pawjump.game.entities.EntityType;
+import pawjump.game.utils.Constants;
+import pawjump.game.utils.StateHash;
+
+/**
+ * Builds the obstacle formations and item placements of one chunk. Every
+ * chunk draws from its own Random seeded from the run seed and the chunk
+ * index, so chunks can be built in any order, on any thread, and come out the
+ * same. Spacing is planned at the speed of the level the chunk lies in, and
+ * formations keep clear of the chunk edges so neighbouring chunks never
+ * crowd each other.
+ *
+ * Placements are checked against the JumpEnvelope at that speed, slowed by
+ * the meat effect, for the player as drawn at its largest: formations
+ * are spaced so each can be cleared after the one before, moving obstacles
+ * that couldn't be passed are turned around or swapped for a bush, and items
+ * are moved to a height the player can actually be at while getting past
+ * the obstacles around them. Items are placed left to right, each at a height
+ * the VerticalOccupancy of those still alongside it leaves free.
+ *
+ * Not thread-safe; each thread that generates chunks uses its own instance.
+ */
+public final class LevelGenerator {
+    // Moving obstacles bounce between these; they start in the middle, standing no lower than the platform
+    public static final int MOVING_MIN_Y = Math.max(0, Constants.GROUND_Y + Constants.OBSTACLE_MOVE_MIN_Y_OFFSET - Constants.OBSTACLE_HEIGHT);
+    public static final int MOVING_MAX_Y = Math.max(MOVING_MIN_Y, Constants.GROUND_Y + Constants.OBSTACLE_MOVE_MAX_Y_OFFSET - Constants.OBSTACLE_HEIGHT);
+    private static final int MOVING_START_Y = Math.min(MOVING_MAX_Y - (MOVING_MAX_Y - MOVING_MIN_Y) / 2,
+            Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT);
+
+    // Birds are drawn larger than their box, centered on it
+    private static final int BIRD_SPRITE_WIDTH = (int) (Constants.OBSTACLE_WIDTH * Constants.BIRD_SPRITE_SCALE);
+    private static final int BIRD_SPRITE_HEIGHT = (int) (Constants.OBSTACLE_HEIGHT * Constants.BIRD_SPRITE_SCALE);
+    private static final double ITEM_EDGE_MARGIN = 1.0; // Meters fish keep from their slot edges
+    private static final int ITEM_MIN_GAP = 20; // Pixels between items that are on screen together
+    private static final int ITEM_PLACEMENT_TRIES = 4;
+    private static final int MAX_ITEMS_PER_CHUNK = Constants.FISH_PER_CHUNK + 3; // Plus a level's two meat and one suplemen
+
+    // The player's reach (see Player.getReach()) in screen pixels while standing at the start
+    private final int playerRight;
+    private final int playerWidth;
+    private final int playerTop;
+
+    private final Random random = new Random();
+    // The chunk's items in meter order, before and while they are placed
+    private final double[] itemMeters = new double[MAX_ITEMS_PER_CHUNK];
+    private final int[] itemTypes = new int[MAX_ITEMS_PER_CHUNK];
+    private final int[] itemYs = new int[MAX_ITEMS_PER_CHUNK];
+    private int itemCount;
+    private final VerticalOccupancy itemsAlongside = new VerticalOccupancy();
+
+    public LevelGenerator(Rectangle playerReach) {
+        this.playerRight = Constants.PLAYER_START_X + playerReach.x + playerReach.width;
+        this.playerWidth = playerReach.width;
+        this.playerTop = Constants.GROUND_Y - Constants.PLAYER_HEIGHT + playerReach.y;
+    }
+
+    /**
+     * Most entities of type the level can have in play at once: as many as its
+     * spacing fits into one trip across the screen at the slowest scroll,
+     * level 1's speed slowed by the meat effect.
+     */
+    public static int maxInPlay(int type) {
+        int travel = Constants.SCREEN_WIDTH + (EntityType.isItem(type) ? Constants.ITEM_WIDTH : Constants.OBSTACLE_WIDTH);
+        // Formations are OBSTACLE_MIN_GAP apart at their level's speed, and never scroll slower than the meat effect makes it
+        int formations = (int) (travel / (Constants.OBSTACLE_MIN_GAP * Constants.MEAT_EFFECT_SPEED_FACTOR)) + 1;
+        double meters = travel / (Constants.BASE_SPEED * Constants.MEAT_EFFECT_SPEED_FACTOR) * Constants.METERS_PER_TICK;
+        switch (type) {
+            case EntityType.BUSH:
+                return 2 * formations; // Each can be a pair
+            case EntityType.BIRD:
+            case EntityType.MOVING_GROUND:
+                return formations;
+            case EntityType.FISH:
+                // One anywhere in each slot, so the stretch in play can reach into one slot more than it spans
+                return (int) (meters / (Constants.LEVEL_CHUNK_METERS / (double) Constants.FISH_PER_CHUNK)) + 2;
+            default:
+                return 1; // Meat and suplemen are much further apart than the screen is wide
+        }
+    }
+
+    public void generate(long runSeed, int index, LevelChunk chunk) {
+        chunk.begin(runSeed, index);
+        random.setSeed(StateHash.mix(StateHash.mix(StateHash.SEED, runSeed), (long) index));
+
+        double start = LevelChunk.getStartMeter(index);
+        double end = chunk.getEndMeter();
+        int level = (int) (start / Constants.METERS_PER_LEVEL) + 1;
+        double speed = Constants.BASE_SPEED * (1.0 + Constants.SPEED_INCREMENT_PER_LEVEL * (level - 1));
+
+        placeObstacles(chunk, start, end, speed);
+        placeItems(chunk, start, level, speed);
+    }
+
+    private void placeObstacles(LevelChunk chunk, double start, double end, double speed) {
+        double pixelsPerMeter = speed / Constants.METERS_PER_TICK;
+        int overlap = overlapTicks(Constants.OBSTACLE_WIDTH, speed);
+        // Bushes in a pair need the time to clear the first, land and clear the second
+        int pairTicks = Math.max(Constants.OBSTACLE_PAIR_SPACING_TICKS,
+                JumpEnvelope.minSpacingTicks(Constants.OBSTACLE_HEIGHT, overlap, Constants.OBSTACLE_HEIGHT));
+        double pairSpacing = pairTicks * Constants.METERS_PER_TICK;
+        double minGap = Math.max(Constants.OBSTACLE_MIN_GAP / pixelsPerMeter, pairSpacing);
+        double maxGap = Math.max(Constants.OBSTACLE_MAX_GAP / pixelsPerMeter, minGap);
+        // A jump around an edge formation stays in this chunk, so items only need checking against their own chunk
+        double edgeMargin = Math.max(minGap / 2, JumpEnvelope.AIR_TICKS * Constants.METERS_PER_TICK);
+
+        double meter = start + edgeMargin + random.nextDouble() * (maxGap - minGap) / 2;
+        while (true) {
+            boolean pair = meter >= Constants.OBSTACLE_PAIR_MIN_SCORE && random.nextDouble() < Constants.OBSTACLE_PAIR_CHANCE;
+            double length = pair ? pairSpacing : 0;
+            if (meter + length > end - edgeMargin) {
+                return;
+            }
+            if (pair) {
+                // Two bushes far enough apart to land between them and jump again
+                chunk.add(meter, EntityType.BUSH, Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT, 0);
+                chunk.add(meter + pairSpacing, EntityType.BUSH, Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT, 0);
+            } else {
+                placeSingleObstacle(chunk, meter, speed);
+            }
+            meter += length + minGap + random.nextDouble() * (maxGap - minGap);
+        }
+    }
+
+    private void placeSingleObstacle(LevelChunk chunk, double meter, double speed) {
+        double r = random.nextDouble();
+        double floatChance = meter >= Constants.OBSTACLE_FLOAT_MIN_SCORE ? Constants.OBSTACLE_FLOAT_CHANCE : 0.0;
+        double movingChance = meter >= Constants.OBSTACLE_MOVING_MIN_SCORE ? Constants.OBSTACLE_MOVING_CHANCE : 0.0;
+        if (r < floatChance) {
+            int y = Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT - Constants.OBSTACLE_FLOAT_GAP_FROM_GROUND;
+            chunk.add(meter, EntityType.BIRD, y, 0);
+        } else if (r < floatChance + movingChance) {
+            int direction = random.nextDouble() < 0.5 ? 1 : -1;
+            if (!isMovingPassable(direction, speed)) {
+                direction = -direction;
+            }
+            if (isMovingPassable(direction, speed)) {
+                chunk.add(meter, EntityType.MOVING_GROUND, MOVING_START_Y, direction);
+            } else {
+                chunk.add(meter, EntityType.BUSH, Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT, 0);
+            }
+        } else {
+            chunk.add(meter, EntityType.BUSH, Constants.GROUND_Y - Constants.OBSTACLE_HEIGHT, 0);
+        }
+    }
+
+    // Ticks something width wide overlaps the player, at the level's speed slowed by the meat effect, which makes it longest
+    private int overlapTicks(int width, double speed) {
+        return JumpEnvelope.overlapTicks(width, playerWidth, speed * Constants.MEAT_EFFECT_SPEED_FACTOR);
+    }
+
+    // Whether a moving obstacle starting out in direction can be passed, with the meat effect on or off when it arrives
+    private boolean isMovingPassable(int direction, double speed) {
+        int overlap = overlapTicks(Constants.OBSTACLE_WIDTH, speed);
+        return isMovingPassable(direction, speed, overlap) && isMovingPassable(direction, speed * Constants.MEAT_EFFECT_SPEED_FACTOR, overlap);
+    }
+
+    /**
+     * Whether a moving obstacle starting out in direction can be run under or
+     * jumped over, from where its bounce has taken it by the time it reaches
+     * the player at speed. Follows the obstacle, not the player, so no jump is
+     * simulated.
+     */
+    private boolean isMovingPassable(int direction, double speed, int overlap) {
+        int arrival = (int) ((Constants.SCREEN_WIDTH - playerRight) / speed) + 1;
+        double y = MOVING_START_Y;
+        double velocityY = direction * Constants.OBSTACLE_MOVE_SPEED;
+        double highest = Double.POSITIVE_INFINITY;
+        double lowest = Double.NEGATIVE_INFINITY;
+        for (int tick = 1; tick < arrival + overlap; tick++) {
+            // Same bounce as EntityStore.update
+            y += velocityY;
+            if (y <= MOVING_MIN_Y) {
+                y = MOVING_MIN_Y;
+                velocityY = Math.abs(velocityY);
+            } else if (y >= MOVING_MAX_Y) {
+                y = MOVING_MAX_Y;
+                velocityY = -Math.abs(velocityY);
+            }
+            if (tick >= arrival) {
+                highest = Math.min(highest, y);
+                lowest = Math.max(lowest, y);
+            }
+        }
+        boolean runUnder = lowest + Constants.OBSTACLE_HEIGHT <= playerTop;
+        return runUnder || JumpEnvelope.canClear((int) Math.ceil(Constants.GROUND_Y - highest), overlap);
+    }
+
+    private void placeItems(LevelChunk chunk, double start, int level, double speed) {
+        itemCount = 0;
+        // Meat twice and suplemen once per level, at fixed distances into it
+        double levelStart = (level - 1) * (double) Constants.METERS_PER_LEVEL;
+        queueItemIfInChunk(chunk, EntityType.MEAT, levelStart + Constants.MEAT_SPAWN_OFFSET_1);
+        queueItemIfInChunk(chunk, EntityType.SUPLEMEN, levelStart + Constants.SUPLEMEN_SPAWN_OFFSET);
+        queueItemIfInChunk(chunk, EntityType.MEAT, levelStart + Constants.MEAT_SPAWN_OFFSET_2);
+
+        // Fish spread over equal slots of the chunk, one somewhere in each
+        double slot = Constants.LEVEL_CHUNK_METERS / (double) Constants.FISH_PER_CHUNK;
+        for (int i = 0; i < Constants.FISH_PER_CHUNK; i++) {
+            queueItem(EntityType.FISH, start + i * slot + ITEM_EDGE_MARGIN + random.nextDouble() * (slot - 2 * ITEM_EDGE_MARGIN));
+        }
+
+        // Left to right, so the items alongside each one are the last few placed
+        double alongsideMeters = (Constants.ITEM_WIDTH + ITEM_MIN_GAP) / (speed / Constants.METERS_PER_TICK);
+        itemsAlongside.clear();
+        int firstAlongside = 0;
+        for (int i = 0; i < itemCount; i++) {
+            while (firstAlongside < i && itemMeters[i] - itemMeters[firstAlongside] >= alongsideMeters) {
+                itemsAlongside.remove(itemYs[firstAlongside], itemYs[firstAlongside] + Constants.ITEM_HEIGHT);
+                firstAlongside++;
+            }
+            int y = placeItem(chunk, itemTypes[i], itemMeters[i], speed);
+            itemYs[i] = y;
+            itemsAlongside.add(y, y + Constants.ITEM_HEIGHT);
+        }
+    }
+
+    private void queueItemIfInChunk(LevelChunk chunk, int type, double meter) {
+        if (meter >= LevelChunk.getStartMeter(chunk.getIndex()) && meter < chunk.getEndMeter()) {
+            queueItem(type, meter);
+        }
+    }
+
+    // Inserts in meter order; equal meters keep the order they were queued in
+    private void queueItem(int type, double meter) {
+        int at = itemCount;
+        while (at > 0 && itemMeters[at - 1] > meter) {
+            itemMeters[at] = itemMeters[at - 1];
+            itemTypes[at] = itemTypes[at - 1];
+            at--;
+        }
+        itemMeters[at] = meter;
+        itemTypes[at] = type;
+        itemCount++;
+    }
+
+    // Picks a reachable height that keeps clear of the items alongside, overlapping one as a last resort
+    private int placeItem(LevelChunk chunk, int type, double meter, double speed) {
+        int y = 0;
+        for (int attempt = 0; attempt < ITEM_PLACEMENT_TRIES; attempt++) {
+            y = reachableItemY(chunk, meter, Constants.GROUND_Y - Constants.ITEM_HEIGHT - 50 - (int) (random.nextDouble() * 150), speed);
+            if (itemsAlongside.isFree(y, y + Constants.ITEM_HEIGHT, ITEM_MIN_GAP)) {
+                break;
+            }
+        }
+        chunk.add(meter, type, y, 0);
+        return y;
+    }
+
+    /**
+     * The item's y, moved if needed to a height the player can touch it at
+     * while clearing the bushes and ducking the birds of the chunk. Looks up
+     * the JumpEnvelope once per obstacle rather than trying jumps.
+     */
+    private int reachableItemY(LevelChunk chunk, double meter, int y, double speed) {
+        int itemOverlap = overlapTicks(Constants.ITEM_WIDTH, speed);
+        int low = 0;
+        int high = JumpEnvelope.PEAK_RISE;
+        for (int i = 0; i < chunk.size(); i++) {
+            int type = chunk.getType(i);
+            // Ticks from the obstacle starting to overlap the player to the middle of the item's overlap
+            int tick = (int) Math.round((meter - chunk.getMeter(i)) / Constants.METERS_PER_TICK) + itemOverlap / 2;
+            if (type == EntityType.BUSH) {
+                int overlap = overlapTicks(Constants.OBSTACLE_WIDTH, speed);
+                low = Math.max(low, JumpEnvelope.lowestRiseClearing(overlap, tick));
+                high = Math.min(high, JumpEnvelope.highestRiseClearing(overlap, tick));
+            } else if (type == EntityType.BIRD) {
+                int overlap = overlapTicks(BIRD_SPRITE_WIDTH, speed);
+                if (tick >= 0 && tick < overlap) {
+                    int birdBottom = chunk.getY(i) + (Constants.OBSTACLE_HEIGHT + BIRD_SPRITE_HEIGHT) / 2;
+                    high = Math.min(high, playerTop - birdBottom); // Staying under it
+                }
+            }
+        }
+        if (low > high) {
+            return y; // Nothing works for every obstacle; the player has to pick
+        }
+        // The player touches the item while its rise is between these
+        int touchLow = playerTop - Constants.ITEM_HEIGHT - y;
+        int touchHigh = Constants.GROUND_Y - y;
+        if (high > touchLow && low < touchHigh) {
+            return y;
+        }
+        // Center the item on the nearest reachable rise
+        int centered = (touchLow + touchHigh) / 2;
+        return y + centered - Math.max(low, Math.min(high, centered));
+    }
+}
@@ -0,0 +1,180 @@
+package pawjump.game.level;
+
+import java.awt.Rectangle;
+import java.util.concurrent.locks.LockSupport;
+import pawjump.game.utils.Constants;
+import pawjump.game.utils.SpscQueue;
+
+/**
+ * Feeds the simulation the chunks of the current run in order. A daemon
+ * thread generates up to LEVEL_CHUNKS_AHEAD chunks ahead and passes them over
+ * a lock-free queue; used chunks go back over a second queue to be refilled.
+ * The simulation only ever polls, so a tick never waits on the generator and
+ * never generates: restart(), which runs between runs rather than in a tick,
+ * builds the first chunk itself and sets the generator going on the next.
+ * If a chunk still isn't ready when the run reaches it, take() returns null
+ * and counts a miss, and the simulation asks again on the next tick. A
+ * simulation running faster than real time calls awaitNext() between ticks
+ * instead, so the generator never falls behind it.
+ *
+ * With background generation off, take() builds every chunk on the spot;
+ * chunks depend only on the seed and index, so the run is the same.
+ *
+ * Everything except run() is called by the simulation, under the GameManager
+ * lock, which makes it the single consumer the queues expect. close() stops
+ * the generator thread.
+ */
+public final class LevelStream implements Runnable {
+    private final SpscQueue<LevelChunk> ready = new SpscQueue<>(Constants.LEVEL_CHUNKS_AHEAD + 1); // Generator to simulation
+    private final SpscQueue<LevelChunk> spare = new SpscQueue<>(Constants.LEVEL_CHUNKS_AHEAD + 1); // Simulation to generator
+    private final Rectangle playerReach;
+    private final LevelGenerator inlineGenerator;
+    private final LevelChunk inlineChunk = new LevelChunk(); // Built by restart(), or by take() when synchronous
+    private final Thread worker; // Null when generating synchronously
+    private volatile boolean closed;
+
+    // What the simulation wants next; the worker restarts from here whenever generation changes
+    private volatile long requestedSeed;
+    private volatile int requestedIndex;
+    private volatile int generation;
+
+    private long seed; // Simulation side copy of requestedSeed
+    private boolean inlineChunkPending; // restart() built inlineChunk and take() hasn't handed it out yet
+    private int nextIndex; // The chunk after the last one handed out
+    private long chunksAhead;
+    private long chunksInline;
+    private long misses;
+
+    // playerReach is Player.getReach(), which every chunk is planned against
+    public LevelStream(boolean background, Rectangle playerReach) {
+        this.playerReach = playerReach;
+        this.inlineGenerator = new LevelGenerator(playerReach);
+        if (background) {
+            // One more than the look-ahead, for the chunk the simulation is working through
+            for (int i = 0; i <= Constants.LEVEL_CHUNKS_AHEAD; i++) {
+                spare.offer(new LevelChunk());
+            }
+            worker = new Thread(this, "PawJump-LevelGenerator");
+            worker.setDaemon(true);
+            worker.start();
+        } else {
+            worker = null;
+        }
+    }
+
+    /**
+     * Starts over at chunk index of the run with this seed; chunks already
+     * queued are dropped. Builds chunk index here, so the run can start on it
+     * at once, and has the generator carry on from the one after.
+     */
+    public void restart(long seed, int index) {
+        this.seed = seed;
+        if (worker == null) {
+            return;
+        }
+        inlineGenerator.generate(seed, index, inlineChunk);
+        inlineChunkPending = true;
+        nextIndex = index + 1;
+        chunksInline++;
+        // Drained before the worker can see the new request, so nothing built for it is thrown away
+        LevelChunk stale;
+        while ((stale = ready.poll()) != null) {
+            spare.offer(stale);
+        }
+        requestedSeed = seed;
+        requestedIndex = index + 1;
+        generation++; // Written last, so the worker sees the seed and index that go with it
+        LockSupport.unpark(worker);
+    }
+
+    // The chunk at index for the current seed, or null if it isn't ready yet; hand it back with release() once used up
+    public LevelChunk take(int index) {
+        if (worker == null) {
+            chunksInline++;
+            inlineGenerator.generate(seed, index, inlineChunk);
+            return inlineChunk;
+        }
+        if (inlineChunkPending && inlineChunk.isFor(seed, index)) {
+            inlineChunkPending = false;
+            return inlineChunk;
+        }
+        requestedIndex = index; // Lets a worker that fell behind skip straight here
+        LevelChunk chunk;
+        while ((chunk = ready.poll()) != null) {
+            if (chunk.isFor(seed, index)) {
+                chunksAhead++;
+                nextIndex = index + 1;
+                return chunk;
+            }
+            release(chunk); // Superseded by a restart
+        }
+        misses++;
+        LockSupport.unpark(worker);
+        return null;
+    }
+
+    /**
+     * Waits, outside any tick, until the chunk after the last one handed out
+     * is ready, dropping whatever a restart superseded. For headless runs,
+     * which outpace the generator thread's wakeups; the game never calls it.
+     */
+    public void awaitNext() {
+        if (worker == null) {
+            return;
+        }
+        LevelChunk chunk;
+        while ((chunk = ready.peek()) == null || chunk.getIndex() < nextIndex || chunk.getSeed() != seed) {
+            if (chunk != null) {
+                release(ready.poll());
+            } else {
+                LockSupport.unpark(worker);
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public void release(LevelChunk chunk) {
+        if (chunk != inlineChunk && worker != null) {
+            spare.offer(chunk);
+            LockSupport.unpark(worker);
+        }
+    }
+
+    // Stops the generator thread for good; the stream can't be used afterwards
+    public void close() {
+        closed = true;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    @Override
+    public void run() {
+        LevelGenerator generator = new LevelGenerator(playerReach);
+        int seenGeneration = -1;
+        long runSeed = 0;
+        int next = 0;
+        while (!closed) {
+            LevelChunk chunk = spare.poll();
+            if (chunk == null) {
+                LockSupport.park(this); // Every chunk is ready or in use; release() and close() wake us
+                continue;
+            }
+            int currentGeneration = generation;
+            if (currentGeneration != seenGeneration) {
+                seenGeneration = currentGeneration;
+                runSeed = requestedSeed;
+                next = requestedIndex;
+            } else {
+                next = Math.max(next, requestedIndex);
+            }
+            generator.generate(runSeed, next++, chunk);
+            ready.offer(chunk); // Never full: it holds every chunk there is
+        }
+    }
+
+    public boolean isBackground() { return worker != null; }
+    public long getChunksAhead() { return chunksAhead; } // Taken ready-made from the generator thread
+    public long getChunksInline() { return chunksInline; } // Built on the simulation thread, by restart() or synchronously
+    public long getMisses() { return misses; } // Times take() found the chunk not ready yet
+}
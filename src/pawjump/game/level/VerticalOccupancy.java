@@ -0,0 +1,77 @@
+package pawjump.game.level;
+
+import java.util.Arrays;
+
+/**
+ * The vertical spans [top, bottom) taken by the items placed alongside the
+ * one being placed, kept sorted by top so "is this height free?" is a binary
+ * search plus a look at the few spans that could reach it. Spans are a
+ * multiset: equal spans may be added more than once, and remove() takes away
+ * one of them.
+ */
+public final class VerticalOccupancy {
+    private int count;
+    private int[] tops = new int[16];
+    private int[] bottoms = new int[16];
+    private int maxHeight; // Tallest span ever added; bounds how far back a query has to look
+
+    public void add(int top, int bottom) {
+        if (count == tops.length) {
+            tops = Arrays.copyOf(tops, count * 2);
+            bottoms = Arrays.copyOf(bottoms, count * 2);
+        }
+        int at = firstWithTopAbove(top); // After any equal tops, so insertion order is kept
+        System.arraycopy(tops, at, tops, at + 1, count - at);
+        System.arraycopy(bottoms, at, bottoms, at + 1, count - at);
+        tops[at] = top;
+        bottoms[at] = bottom;
+        count++;
+        maxHeight = Math.max(maxHeight, bottom - top);
+    }
+
+    public void remove(int top, int bottom) {
+        for (int i = firstWithTopAbove(top - 1); i < count && tops[i] == top; i++) {
+            if (bottoms[i] == bottom) {
+                System.arraycopy(tops, i + 1, tops, i, count - i - 1);
+                System.arraycopy(bottoms, i + 1, bottoms, i, count - i - 1);
+                count--;
+                return;
+            }
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        maxHeight = 0;
+    }
+
+    // True if no span comes within minGap of [top, bottom)
+    public boolean isFree(int top, int bottom, int minGap) {
+        // A span ending after top - minGap must start after top - minGap - maxHeight
+        for (int i = firstWithTopAbove(top - minGap - maxHeight); i < count && tops[i] < bottom + minGap; i++) {
+            if (bottoms[i] + minGap > top) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Binary search for the first span whose top is greater than value
+    private int firstWithTopAbove(int value) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tops[mid] > value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
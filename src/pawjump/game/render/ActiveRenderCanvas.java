@@ -0,0 +1,101 @@
+package pawjump.game.render;
+
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Heavyweight canvas rendered directly from the game loop thread through a
+ * page-flipping BufferStrategy, bypassing the Swing repaint pipeline.
+ */
+public class ActiveRenderCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    public interface SceneRenderer {
+        void render(Graphics2D g2d, double alpha);
+    }
+
+    private static final int PREFERRED_BUFFERS = 3;
+
+    private final SceneRenderer renderer;
+    private BufferStrategy strategy;
+    private int bufferCount;
+    private boolean accelerated = true;
+
+    public ActiveRenderCanvas(SceneRenderer renderer) {
+        this.renderer = renderer;
+        setIgnoreRepaint(true); // We paint ourselves; ignore OS expose events
+        setFocusable(false); // Keyboard focus stays on the GamePanel
+    }
+
+    @Override
+    public synchronized void addNotify() {
+        super.addNotify();
+        strategy = null;
+        // Prefer triple buffering, settle for double buffering
+        for (int buffers = PREFERRED_BUFFERS; buffers >= 2 && strategy == null; buffers--) {
+            try {
+                createBufferStrategy(buffers);
+                strategy = getBufferStrategy();
+                bufferCount = buffers;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                System.err.println("Could not create " + buffers + "-buffer strategy: " + e.getMessage());
+            }
+        }
+        if (strategy != null) {
+            BufferCapabilities caps = strategy.getCapabilities();
+            accelerated = caps.getBackBufferCapabilities().isAccelerated();
+        } else {
+            accelerated = false;
+        }
+    }
+
+    @Override
+    public synchronized void removeNotify() {
+        if (strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+        super.removeNotify();
+    }
+
+    public synchronized boolean isReady() {
+        return strategy != null;
+    }
+
+    // False when only an unaccelerated strategy could be created, in which case the Swing path is no worse
+    public synchronized boolean isAccelerated() {
+        return accelerated;
+    }
+
+    public synchronized int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * Renders and presents one frame. Returns false if nothing could be shown
+     * (canvas not displayable yet or already torn down).
+     */
+    public synchronized boolean render(double alpha) {
+        if (strategy == null) {
+            return false;
+        }
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    renderer.render(g2d, alpha);
+                } finally {
+                    g2d.dispose();
+                }
+                // Back buffer surfaces were restored while we drew; the frame may be garbage, draw it again
+            } while (strategy.contentsRestored());
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+            // Surfaces were lost at present time (mode switch, device reset), redraw the whole frame
+        } while (strategy.contentsLost());
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package pawjump.game.render;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+
+/**
+ * Debug counter of how many sprite blits per frame Java2D could serve from
+ * video memory and how many went through software loops. Only counts while
+ * enabled (the debug overlay is showing), since querying image capabilities
+ * allocates. Accessed from whichever thread holds the render lock.
+ */
+public final class BlitStats {
+    private static volatile boolean enabled;
+    private static int accelerated;
+    private static int software;
+    private static int lastAccelerated;
+    private static int lastSoftware;
+
+    private BlitStats() {}
+
+    public static void setEnabled(boolean enabled) {
+        BlitStats.enabled = enabled;
+    }
+
+    public static void beginFrame() {
+        lastAccelerated = accelerated;
+        lastSoftware = software;
+        accelerated = 0;
+        software = 0;
+    }
+
+    // Call right after drawing the image with g2d
+    public static void record(Graphics2D g2d, Image image) {
+        if (!enabled || image == null) {
+            return;
+        }
+        if (image.getCapabilities(g2d.getDeviceConfiguration()).isAccelerated()) {
+            accelerated++;
+        } else {
+            software++;
+        }
+    }
+
+    // Counts of the last completed frame
+    public static int getAccelerated() {
+        return lastAccelerated;
+    }
+
+    public static int getSoftware() {
+        return lastSoftware;
+    }
+}
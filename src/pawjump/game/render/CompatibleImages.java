@@ -0,0 +1,122 @@
+package pawjump.game.render;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import pawjump.game.animation.SpriteSheetCache;
+import pawjump.game.utils.AssetLoader;
+
+/**
+ * Converts images into the pixel format of the display they are drawn on, so
+ * Java2D can cache them in video memory and blit them without a per-pixel
+ * format conversion. Every image needs the lowest transparency it actually
+ * uses: opaque and bitmask images take faster loops than translucent ones.
+ *
+ * The target configuration follows the window (see GamePanel); when it moves
+ * to a different device the loaded images and sprite sheets are converted
+ * again, and the pre-scaled sprite cache is dropped and rebuilt in the new
+ * format on the next frame. Without a display (headless simulation,
+ * benchmarks) plain INT_RGB/INT_ARGB images are used.
+ */
+public final class CompatibleImages {
+    private static volatile GraphicsConfiguration target = defaultConfiguration();
+    private static volatile int generation; // Bumped on every device change
+
+    private CompatibleImages() {}
+
+    private static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    public static BufferedImage create(int width, int height, int transparency) {
+        GraphicsConfiguration gc = target;
+        if (gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Returns a copy of the (fully loaded) image in the display format, with
+     * transparency detected from its pixels.
+     */
+    public static BufferedImage toCompatible(Image source) {
+        int width = source.getWidth(null);
+        int height = source.getHeight(null);
+        BufferedImage argb;
+        if (source instanceof BufferedImage && ((BufferedImage) source).getType() == BufferedImage.TYPE_INT_ARGB) {
+            argb = (BufferedImage) source;
+        } else {
+            argb = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = argb.createGraphics();
+            g.drawImage(source, 0, 0, null);
+            g.dispose();
+        }
+
+        BufferedImage compatible = create(width, height, detectTransparency(argb));
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(argb, 0, 0, null);
+        g.dispose();
+        return compatible;
+    }
+
+    // Transparency of an already converted image; anything else is assumed translucent
+    public static int getTransparency(Image image) {
+        if (image instanceof BufferedImage) {
+            return ((BufferedImage) image).getTransparency();
+        }
+        return Transparency.TRANSLUCENT;
+    }
+
+    private static int detectTransparency(BufferedImage argb) {
+        int width = argb.getWidth();
+        int[] row = new int[width];
+        boolean hasTransparentPixels = false;
+        for (int y = 0; y < argb.getHeight(); y++) {
+            argb.getRGB(0, y, width, 1, row, 0, width);
+            for (int pixel : row) {
+                int a = pixel >>> 24;
+                if (a != 0xFF) {
+                    if (a != 0) {
+                        return Transparency.TRANSLUCENT; // Soft edges, no point scanning further
+                    }
+                    hasTransparentPixels = true;
+                }
+            }
+        }
+        return hasTransparentPixels ? Transparency.BITMASK : Transparency.OPAQUE;
+    }
+
+    /**
+     * Switches the target to the configuration a component is now shown on.
+     * Must be called while nothing is rendering or ticking. Returns true if
+     * the device changed and cached images were converted again.
+     */
+    public static boolean setTargetConfiguration(GraphicsConfiguration gc) {
+        if (gc == null || gc == target) {
+            return false;
+        }
+        GraphicsConfiguration old = target;
+        target = gc;
+        // Same device and pixel format: what we already built is still compatible
+        if (old != null && old.getDevice() == gc.getDevice() && old.getColorModel().equals(gc.getColorModel())) {
+            return false;
+        }
+        generation++;
+        ScaledImageCache.clear();
+        AssetLoader.reconvertImages();
+        SpriteSheetCache.reslice(); // After the images, so sheets are cut from the new copies
+        return true;
+    }
+
+    public static int getGeneration() {
+        return generation;
+    }
+}
@@ -0,0 +1,55 @@
+package pawjump.game.render;
+
+/**
+ * Measures the time between consecutive presented frames (present-to-present),
+ * which is what the player actually perceives as frame pacing.
+ */
+public class FrameStats {
+    private static final double SMOOTHING = 0.1; // Weight of the newest sample in the running average
+    private static final long WINDOW_NANOS = 1_000_000_000L; // Max and fps are reported per second
+
+    private long lastPresentNanos;
+    private double averagePresentMs;
+    private double maxPresentMs;
+    private double windowMaxMs;
+    private long windowStartNanos;
+    private int windowFrames;
+    private int framesPerSecond;
+
+    public synchronized void framePresented() {
+        long now = System.nanoTime();
+        if (lastPresentNanos != 0) {
+            double presentMs = (now - lastPresentNanos) / 1_000_000.0;
+            averagePresentMs = averagePresentMs == 0 ? presentMs : averagePresentMs + (presentMs - averagePresentMs) * SMOOTHING;
+            if (presentMs > windowMaxMs) {
+                windowMaxMs = presentMs;
+            }
+        }
+        lastPresentNanos = now;
+
+        windowFrames++;
+        if (windowStartNanos == 0) {
+            windowStartNanos = now;
+        } else if (now - windowStartNanos >= WINDOW_NANOS) {
+            framesPerSecond = (int) Math.round(windowFrames * 1_000_000_000.0 / (now - windowStartNanos));
+            maxPresentMs = windowMaxMs;
+            windowMaxMs = 0;
+            windowFrames = 0;
+            windowStartNanos = now;
+        }
+    }
+
+    public synchronized void reset() {
+        lastPresentNanos = 0;
+        averagePresentMs = 0;
+        maxPresentMs = 0;
+        windowMaxMs = 0;
+        windowStartNanos = 0;
+        windowFrames = 0;
+        framesPerSecond = 0;
+    }
+
+    public synchronized double getAveragePresentMs() { return averagePresentMs; }
+    public synchronized double getMaxPresentMs() { return maxPresentMs; }
+    public synchronized int getFramesPerSecond() { return framesPerSecond; }
+}
@@ -0,0 +1,230 @@
+package pawjump.game.render;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bitmap font: the printable ASCII glyphs of one font and color rasterized
+ * once into a display-compatible strip, then drawn as one sub-image blit per
+ * character. Text changes every frame (score, debug numbers) then costs no
+ * layout, and the int/decimal paths allocate nothing.
+ *
+ * Glyphs are rasterized with the scene's antialiasing hints and placed on
+ * whole-pixel advances, which is what drawString does with fractional
+ * metrics off, so the output matches drawString. Characters outside the
+ * atlas fall back to drawString.
+ */
+public final class GlyphAtlas {
+    private static final char FIRST_CHAR = ' ';
+    private static final char LAST_CHAR = '~';
+    private static final int GLYPH_COUNT = LAST_CHAR - FIRST_CHAR + 1;
+    private static final int GLYPH_PADDING = 1; // Keeps neighbouring glyphs' antialiased edges apart
+
+    private static final Map<String, GlyphAtlas> atlases = new ConcurrentHashMap<>();
+
+    private final Font font;
+    private final Color color;
+    private final FontMetrics metrics;
+    private final int[] advances = new int[GLYPH_COUNT];
+    private final int[] atlasX = new int[GLYPH_COUNT]; // Left edge of each glyph image in the atlas
+    private final int[] offsetX = new int[GLYPH_COUNT]; // Glyph image position relative to the pen position on the baseline
+    private final int[] offsetY = new int[GLYPH_COUNT];
+    private final int[] widths = new int[GLYPH_COUNT];
+    private final int[] heights = new int[GLYPH_COUNT];
+
+    private final int atlasWidth;
+    private final int atlasHeight;
+    private final int atlasBaseline; // Baseline y within the atlas image
+
+    private BufferedImage atlas;
+    private int atlasGeneration = -1;
+
+    // Atlases are shared; fetch them once and keep the reference
+    public static GlyphAtlas get(Font font, Color color) {
+        String key = font.getName() + '/' + font.getStyle() + '/' + font.getSize2D() + '/' + Integer.toHexString(color.getRGB());
+        return atlases.computeIfAbsent(key, k -> new GlyphAtlas(font, color));
+    }
+
+    private GlyphAtlas(Font font, Color color) {
+        this.font = font;
+        this.color = color;
+        Graphics2D g = createScratchGraphics();
+        this.metrics = g.getFontMetrics(font);
+        FontRenderContext frc = g.getFontRenderContext();
+        g.dispose();
+
+        // Lay every glyph's pixel bounds out side by side in one row
+        int x = 0;
+        int top = 0;
+        int bottom = 0;
+        for (int i = 0; i < GLYPH_COUNT; i++) {
+            char c = (char) (FIRST_CHAR + i);
+            advances[i] = metrics.charWidth(c);
+            Rectangle bounds = font.createGlyphVector(frc, new char[]{c}).getPixelBounds(frc, 0, 0);
+            offsetX[i] = bounds.x;
+            offsetY[i] = bounds.y;
+            widths[i] = bounds.width;
+            heights[i] = bounds.height;
+            atlasX[i] = x;
+            x += bounds.width + GLYPH_PADDING;
+            top = Math.min(top, bounds.y);
+            bottom = Math.max(bottom, bounds.y + bounds.height);
+        }
+        this.atlasWidth = Math.max(x, 1);
+        this.atlasHeight = Math.max(bottom - top, 1);
+        this.atlasBaseline = -top;
+    }
+
+    private static Graphics2D createScratchGraphics() {
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        applyHints(g);
+        return g;
+    }
+
+    private static void applyHints(Graphics2D g) {
+        // Same hints the scene is drawn with, so glyphs rasterize the same as drawString would
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    }
+
+    private void buildAtlas() {
+        char[] chars = new char[GLYPH_COUNT];
+        for (int i = 0; i < GLYPH_COUNT; i++) {
+            chars[i] = (char) (FIRST_CHAR + i);
+        }
+        atlas = CompatibleImages.create(atlasWidth, atlasHeight, Transparency.TRANSLUCENT);
+        Graphics2D g = atlas.createGraphics();
+        applyHints(g);
+        g.setFont(font);
+        g.setColor(color);
+        for (int i = 0; i < GLYPH_COUNT; i++) {
+            if (widths[i] > 0) {
+                g.drawChars(chars, i, 1, atlasX[i] - offsetX[i], atlasBaseline); // Pen position that puts the glyph at atlasX
+            }
+        }
+        g.dispose();
+        atlasGeneration = CompatibleImages.getGeneration();
+    }
+
+    /**
+     * Draws one character with its pen position at x on baseline y and
+     * returns the x of the next character.
+     */
+    public int drawChar(Graphics2D g2d, char c, int x, int y) {
+        int i = c - FIRST_CHAR;
+        if (i < 0 || i >= GLYPH_COUNT) {
+            g2d.setFont(font);
+            g2d.setColor(color);
+            g2d.drawString(String.valueOf(c), x, y);
+            return x + metrics.charWidth(c);
+        }
+        if (widths[i] > 0) {
+            if (atlas == null || atlasGeneration != CompatibleImages.getGeneration()) {
+                buildAtlas();
+            }
+            int dx = x + offsetX[i];
+            int dy = y + offsetY[i];
+            int sy = atlasBaseline + offsetY[i];
+            g2d.drawImage(atlas, dx, dy, dx + widths[i], dy + heights[i],
+                    atlasX[i], sy, atlasX[i] + widths[i], sy + heights[i], null);
+            BlitStats.record(g2d, atlas);
+        }
+        return x + advances[i];
+    }
+
+    // Returns the x after the last character
+    public int drawString(Graphics2D g2d, String text, int x, int y) {
+        for (int i = 0; i < text.length(); i++) {
+            x = drawChar(g2d, text.charAt(i), x, y);
+        }
+        return x;
+    }
+
+    public int drawInt(Graphics2D g2d, int value, int x, int y) {
+        long v = value;
+        if (v < 0) {
+            x = drawChar(g2d, '-', x, y);
+            v = -v;
+        }
+        long divisor = 1;
+        while (divisor * 10 <= v) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            x = drawChar(g2d, (char) ('0' + v / divisor), x, y);
+            v %= divisor;
+        }
+        return x;
+    }
+
+    // Fixed-point number rounded half up to the given decimals, like String.format("%.Nf")
+    public int drawDecimal(Graphics2D g2d, double value, int decimals, int x, int y) {
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            x = drawChar(g2d, '-', x, y);
+        }
+        long whole = scaled / scale;
+        x = whole > Integer.MAX_VALUE ? drawString(g2d, Long.toString(whole), x, y) : drawInt(g2d, (int) whole, x, y);
+        if (decimals > 0) {
+            x = drawChar(g2d, '.', x, y);
+            long fraction = scaled % scale;
+            for (long divisor = scale / 10; divisor > 0; divisor /= 10) {
+                x = drawChar(g2d, (char) ('0' + fraction / divisor), x, y);
+                fraction %= divisor;
+            }
+        }
+        return x;
+    }
+
+    public int stringWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += charWidth(text.charAt(i));
+        }
+        return width;
+    }
+
+    public int intWidth(int value) {
+        long v = value;
+        int width = 0;
+        if (v < 0) {
+            width += charWidth('-');
+            v = -v;
+        }
+        do {
+            width += charWidth((char) ('0' + v % 10));
+            v /= 10;
+        } while (v > 0);
+        return width;
+    }
+
+    private int charWidth(char c) {
+        int i = c - FIRST_CHAR;
+        return i >= 0 && i < GLYPH_COUNT ? advances[i] : metrics.charWidth(c);
+    }
+
+    public int getAscent() {
+        return metrics.getAscent();
+    }
+
+    public int getHeight() {
+        return metrics.getHeight();
+    }
+
+    public Font getFont() {
+        return font;
+    }
+}
@@ -0,0 +1,130 @@
+package pawjump.game.render;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import pawjump.game.utils.Constants;
+
+/**
+ * Copies of sprites pre-scaled to the exact sizes they are drawn at, so a
+ * frame is a 1:1 blit instead of a scaling drawImage. Variants are built the
+ * first time a size is requested and kept until the cache holds more than
+ * SCALED_IMAGE_CACHE_MAX_BYTES, when the least recently drawn sources lose
+ * theirs.
+ *
+ * Scaling uses the same default (nearest neighbour) interpolation the scaled
+ * drawImage calls used, so the output is pixel-identical. The copies are
+ * created in the display's format (see CompatibleImages) with the source's
+ * transparency, and are dropped when the window moves to another device, to be
+ * built again from the sprites converted for it.
+ */
+public final class ScaledImageCache {
+    private static final Map<Image, Variants> cache = new LinkedHashMap<>(64, 0.75f, true); // In access order
+    private static long bytesHeld;
+    private static int imagesHeld;
+
+    private ScaledImageCache() {}
+
+    public static Image getScaled(Image source, int width, int height) {
+        if (source == null || width <= 0 || height <= 0) {
+            return source;
+        }
+        if (source.getWidth(null) == width && source.getHeight(null) == height) {
+            return source;
+        }
+        synchronized (cache) {
+            Variants variants = cache.get(source);
+            if (variants == null) {
+                variants = new Variants(CompatibleImages.getTransparency(source));
+                cache.put(source, variants);
+            }
+            Image scaled = variants.get(source, width, height);
+            if (bytesHeld > Constants.SCALED_IMAGE_CACHE_MAX_BYTES) {
+                evict(variants);
+            }
+            return scaled;
+        }
+    }
+
+    public static long getBytesHeld() {
+        synchronized (cache) {
+            return bytesHeld;
+        }
+    }
+
+    public static int getImageCount() {
+        synchronized (cache) {
+            return imagesHeld;
+        }
+    }
+
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+            bytesHeld = 0;
+            imagesHeld = 0;
+        }
+    }
+
+    // Drops the least recently drawn sources' variants until back under the cap, keeping the one just used
+    private static void evict(Variants keep) {
+        Iterator<Variants> it = cache.values().iterator();
+        while (bytesHeld > Constants.SCALED_IMAGE_CACHE_MAX_BYTES && it.hasNext()) {
+            Variants variants = it.next();
+            if (variants != keep) {
+                bytesHeld -= variants.bytes;
+                imagesHeld -= variants.count;
+                it.remove();
+            }
+        }
+    }
+
+    private static BufferedImage scale(Image source, int width, int height, int transparency) {
+        BufferedImage scaled = CompatibleImages.create(width, height, transparency);
+        Graphics2D g = scaled.createGraphics();
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    // The handful of sizes one source image is drawn at; searched linearly so lookups don't allocate
+    private static final class Variants {
+        private final int transparency;
+        private int[] widths = new int[2];
+        private int[] heights = new int[2];
+        private Image[] images = new Image[2];
+        private int count;
+        private long bytes;
+
+        Variants(int transparency) {
+            this.transparency = transparency;
+        }
+
+        Image get(Image source, int width, int height) {
+            for (int i = 0; i < count; i++) {
+                if (widths[i] == width && heights[i] == height) {
+                    return images[i];
+                }
+            }
+            if (count == images.length) {
+                widths = Arrays.copyOf(widths, count * 2);
+                heights = Arrays.copyOf(heights, count * 2);
+                images = Arrays.copyOf(images, count * 2);
+            }
+            BufferedImage scaled = scale(source, width, height, transparency);
+            widths[count] = width;
+            heights[count] = height;
+            images[count] = scaled;
+            count++;
+            long size = (long) width * height * ((scaled.getColorModel().getPixelSize() + 7) / 8);
+            bytes += size;
+            bytesHeld += size;
+            imagesHeld++;
+            return scaled;
+        }
+    }
+}
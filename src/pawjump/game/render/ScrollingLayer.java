@@ -0,0 +1,69 @@
+package pawjump.game.render;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+/**
+ * A horizontally repeating scenery layer (background, ground tiles) composited
+ * once into a display-compatible strip. Scrolling is then one or two unscaled
+ * blits of the strip instead of a scaled drawImage per tile per frame.
+ *
+ * The strip is rebuilt only when the view width changes or the window moves to
+ * a device with a different pixel format.
+ */
+public final class ScrollingLayer {
+    private final Image source;
+    private final int tileWidth; // Size each copy of the source is drawn at
+    private final int tileHeight;
+
+    private BufferedImage strip;
+    private int stripViewWidth = -1;
+    private int stripGeneration = -1;
+
+    public ScrollingLayer(Image source, int tileWidth, int tileHeight) {
+        this.source = source;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+    }
+
+    public boolean isValid() {
+        return source != null && tileWidth > 0 && tileHeight > 0;
+    }
+
+    /**
+     * Draws the layer scrolled by offset (the x of one tile) at y, covering
+     * the view from 0 to viewWidth.
+     */
+    public void draw(Graphics2D g2d, double offset, int y, int viewWidth) {
+        if (!isValid()) {
+            return;
+        }
+        if (strip == null || stripViewWidth != viewWidth || stripGeneration != CompatibleImages.getGeneration()) {
+            buildStrip(viewWidth);
+        }
+        // Tiles repeat every tileWidth, so any offset can be folded into (-tileWidth, 0]
+        int x = (int) offset % tileWidth;
+        if (x > 0) {
+            x -= tileWidth;
+        }
+        for (int dx = x; dx < viewWidth; dx += strip.getWidth()) {
+            g2d.drawImage(strip, dx, y, null);
+            BlitStats.record(g2d, strip);
+        }
+    }
+
+    private void buildStrip(int viewWidth) {
+        // Narrow tiles get a strip wide enough that one blit always covers the view;
+        // wide ones (the background) are a single tile drawn at most twice
+        int tiles = tileWidth < viewWidth ? (viewWidth + tileWidth - 1) / tileWidth + 1 : 1;
+        strip = CompatibleImages.create(tiles * tileWidth, tileHeight, CompatibleImages.getTransparency(source));
+        Graphics2D g = strip.createGraphics();
+        for (int i = 0; i < tiles; i++) {
+            g.drawImage(source, i * tileWidth, 0, tileWidth, tileHeight, null);
+        }
+        g.dispose();
+        stripViewWidth = viewWidth;
+        stripGeneration = CompatibleImages.getGeneration();
+    }
+}
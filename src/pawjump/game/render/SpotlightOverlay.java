@@ -0,0 +1,89 @@
+package pawjump.game.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.RadialGradientPaint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Darkens the screen except for a soft circle of light. The circle and its
+ * gradient edge are rendered once into a translucent mask; each frame blits
+ * the mask around the light's center and fills the rest of the screen with
+ * four plain rectangles.
+ *
+ * The mask is drawn with exactly the operations the effect used to run on
+ * the whole screen every frame (a radial gradient, then a darker overlay
+ * everywhere outside the circle), so it looks the same.
+ */
+public final class SpotlightOverlay {
+    private final int radius;
+    private final float darkness;
+    private final Color outsideColor; // Gradient edge and overlay combined, as seen outside the mask
+
+    private BufferedImage mask;
+    private int maskGeneration = -1;
+
+    public SpotlightOverlay(int radius, float darkness) {
+        this.radius = radius;
+        this.darkness = darkness;
+        // Outside the circle the gradient's edge color is covered by the overlay, so compose the two alphas once
+        float edgeAlpha = (int) (255 * darkness) / 255f;
+        float combined = 1 - (1 - edgeAlpha) * (1 - darkness);
+        this.outsideColor = new Color(0, 0, 0, Math.round(255 * combined));
+    }
+
+    public void draw(Graphics2D g2d, int centerX, int centerY, int viewWidth, int viewHeight) {
+        if (mask == null || maskGeneration != CompatibleImages.getGeneration()) {
+            buildMask();
+        }
+        int left = centerX - radius;
+        int top = centerY - radius;
+        int size = radius * 2;
+
+        g2d.drawImage(mask, left, top, null);
+        BlitStats.record(g2d, mask);
+
+        g2d.setColor(outsideColor);
+        g2d.fillRect(0, 0, viewWidth, top); // Above
+        g2d.fillRect(0, top + size, viewWidth, viewHeight - top - size); // Below
+        g2d.fillRect(0, top, left, size); // Left
+        g2d.fillRect(left + size, top, viewWidth - left - size, size); // Right
+    }
+
+    private void buildMask() {
+        int size = radius * 2;
+        mask = CompatibleImages.create(size, size, Transparency.TRANSLUCENT);
+        Graphics2D g = mask.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+        // Fully transparent up to 70% of the radius, fading to dark at the edge
+        g.setPaint(new RadialGradientPaint(radius, radius, radius,
+                new float[]{0.0f, 0.7f, 1.0f},
+                new Color[]{
+                    new Color(0, 0, 0, 0),
+                    new Color(0, 0, 0, 0),
+                    new Color(0, 0, 0, (int) (255 * darkness))
+                }));
+        g.fillRect(0, 0, size, size);
+
+        // The corners outside the circle also get the general dark overlay
+        Composite oldComposite = g.getComposite();
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, darkness));
+        g.setColor(Color.BLACK);
+        Area corners = new Area(new Rectangle(0, 0, size, size));
+        corners.subtract(new Area(new Ellipse2D.Double(0, 0, size, size)));
+        g.fill(corners);
+        g.setComposite(oldComposite);
+        g.dispose();
+
+        maskGeneration = CompatibleImages.getGeneration();
+    }
+}
@@ -0,0 +1,97 @@
+package pawjump.game.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import pawjump.game.GameManager;
+import pawjump.game.audio.AudioEngine;
+import pawjump.game.entities.EntityPool;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.CompatibleImages;
+import pawjump.game.render.FrameStats;
+import pawjump.game.render.GlyphAtlas;
+import pawjump.game.render.ScaledImageCache;
+import pawjump.game.utils.AudioManager;
+import pawjump.game.utils.Constants;
+
+public class DebugOverlay {
+    private static final int LINE_HEIGHT = 18;
+    private static final int LINE_COUNT = 7;
+    private static final AlphaComposite BOX_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.6f);
+
+    // Drawn from a glyph atlas so the overlay itself doesn't allocate or skew the numbers it shows
+    private final GlyphAtlas text = GlyphAtlas.get(new Font("Monospaced", Font.PLAIN, 14), Color.GREEN);
+
+    public void draw(Graphics2D g2d, String renderMode, FrameStats frameStats, GameManager gameManager) {
+        int boxX = 10;
+        int boxH = LINE_COUNT * LINE_HEIGHT + 10;
+        int boxY = Constants.SCREEN_HEIGHT - boxH - 10;
+
+        Composite oldComposite = g2d.getComposite();
+        g2d.setComposite(BOX_COMPOSITE);
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(boxX, boxY, 420, boxH);
+        g2d.setComposite(oldComposite);
+
+        int textX = boxX + 8;
+        int y = boxY + 5 + LINE_HEIGHT - 4;
+        int x = text.drawString(g2d, "Render: ", textX, y);
+        text.drawString(g2d, renderMode, x, y);
+
+        y += LINE_HEIGHT;
+        x = text.drawString(g2d, "Present: ", textX, y);
+        x = text.drawDecimal(g2d, frameStats.getAveragePresentMs(), 2, x, y);
+        x = text.drawString(g2d, " ms avg, ", x, y);
+        x = text.drawDecimal(g2d, frameStats.getMaxPresentMs(), 2, x, y);
+        text.drawString(g2d, " ms max", x, y);
+
+        y += LINE_HEIGHT;
+        x = text.drawString(g2d, "FPS: ", textX, y);
+        text.drawInt(g2d, frameStats.getFramesPerSecond(), x, y);
+
+        y += LINE_HEIGHT;
+        x = text.drawString(g2d, "Scaled sprites: ", textX, y);
+        x = text.drawInt(g2d, ScaledImageCache.getImageCount(), x, y);
+        x = text.drawString(g2d, " images, ", x, y);
+        x = text.drawDecimal(g2d, ScaledImageCache.getBytesHeld() / (1024.0 * 1024.0), 1, x, y);
+        text.drawString(g2d, " MB", x, y);
+
+        y += LINE_HEIGHT;
+        x = text.drawString(g2d, "Blits: ", textX, y);
+        x = text.drawInt(g2d, BlitStats.getAccelerated(), x, y);
+        x = text.drawString(g2d, " accelerated, ", x, y);
+        x = text.drawInt(g2d, BlitStats.getSoftware(), x, y);
+        x = text.drawString(g2d, " software (image gen ", x, y);
+        x = text.drawInt(g2d, CompatibleImages.getGeneration(), x, y);
+        text.drawChar(g2d, ')', x, y);
+
+        long hits = 0, misses = 0, dropped = 0;
+        for (EntityPool<?> pool : gameManager.getEntityPools()) {
+            hits += pool.getHits();
+            misses += pool.getMisses();
+            dropped += pool.getDropped();
+        }
+        y += LINE_HEIGHT;
+        x = text.drawString(g2d, "Pools: ", textX, y);
+        x = text.drawInt(g2d, (int) Math.min(hits, Integer.MAX_VALUE), x, y);
+        x = text.drawString(g2d, " hits, ", x, y);
+        x = text.drawInt(g2d, (int) Math.min(misses, Integer.MAX_VALUE), x, y);
+        x = text.drawString(g2d, " misses, ", x, y);
+        x = text.drawInt(g2d, (int) Math.min(dropped, Integer.MAX_VALUE), x, y);
+        text.drawString(g2d, " dropped", x, y);
+
+        if (gameManager.getAudio() instanceof AudioManager) {
+            AudioEngine audio = ((AudioManager) gameManager.getAudio()).getEngine();
+            y += LINE_HEIGHT;
+            x = text.drawString(g2d, "Audio: ", textX, y);
+            x = text.drawDecimal(g2d, audio.getOutputLatencyMicros() / 1000.0, 1, x, y);
+            x = text.drawString(g2d, " ms latency, ", x, y);
+            x = text.drawInt(g2d, audio.getActiveVoices(), x, y);
+            x = text.drawString(g2d, " voices, ", x, y);
+            x = text.drawInt(g2d, (int) Math.min(audio.getDroppedCommands(), Integer.MAX_VALUE), x, y);
+            text.drawString(g2d, " dropped", x, y);
+        }
+    }
+}
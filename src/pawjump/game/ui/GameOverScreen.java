@@ -3,15 +3,21 @@ package pawjump.game.ui;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
-import javax.swing.JLabel;
 import javax.swing.JPanel;
-import javax.swing.SwingConstants;
 import pawjump.game.GameManager; // To get scores and tell it to restart/exit
+import pawjump.game.render.GlyphAtlas;
 
 public class GameOverScreen {
+    private static final int DIALOG_WIDTH = 420;
+
+    private final GlyphAtlas titleText = GlyphAtlas.get(new Font("Arial", Font.BOLD, 40), new Color(220, 40, 40));
+    private final GlyphAtlas scoreLineText = GlyphAtlas.get(new Font("Arial", Font.BOLD, 28), new Color(255, 215, 0));
+    private final GlyphAtlas levelLineText = GlyphAtlas.get(new Font("Arial", Font.BOLD, 24), new Color(120, 255, 255));
+    private final GlyphAtlas highScoreLineText = GlyphAtlas.get(new Font("Arial", Font.BOLD, 22), new Color(100, 255, 100));
     private JDialog gameOverDialog;
     private GameManager gameManager; // To communicate restart/exit actions
 
@@ -25,45 +31,31 @@ public class GameOverScreen {
         }
 
         gameOverDialog = new JDialog(parentFrame, "Game Over", true);
-        gameOverDialog.setSize(420, 300);
+        gameOverDialog.setSize(DIALOG_WIDTH, 300);
         gameOverDialog.setLocationRelativeTo(parentFrame);
         gameOverDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE); // Dispose only
         gameOverDialog.setResizable(false);
 
+        String scoreText = "Score: " + gameManager.getScore() + " m";
+        String levelText = "Level: " + gameManager.getCurrentLevel();
+        String highScoreText = "High Score: " + gameManager.getHighScore() + " m";
         JPanel panel = new JPanel() {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
                 g.setColor(new Color(30, 30, 60));
                 g.fillRect(0, 0, getWidth(), getHeight());
+
+                // Text lines are centered in the rows the labels used to occupy
+                Graphics2D g2d = (Graphics2D) g;
+                drawCentered(g2d, titleText, "GAME OVER", 20, 50);
+                drawCentered(g2d, scoreLineText, scoreText, 70, 40);
+                drawCentered(g2d, levelLineText, levelText, 110, 32);
+                drawCentered(g2d, highScoreLineText, highScoreText, 150, 30);
             }
         };
         panel.setLayout(null);
 
-        JLabel title = new JLabel("GAME OVER", SwingConstants.CENTER);
-        title.setFont(new Font("Arial", Font.BOLD, 40));
-        title.setForeground(new Color(220, 40, 40));
-        title.setBounds(0, 20, 420, 50);
-        panel.add(title);
-
-        JLabel scoreLabel = new JLabel("Score: " + gameManager.getScore() + " m", SwingConstants.CENTER);
-        scoreLabel.setFont(new Font("Arial", Font.BOLD, 28));
-        scoreLabel.setForeground(new Color(255, 215, 0));
-        scoreLabel.setBounds(0, 70, 420, 40);
-        panel.add(scoreLabel);
-
-        JLabel levelLabel = new JLabel("Level: " + gameManager.getCurrentLevel(), SwingConstants.CENTER);
-        levelLabel.setFont(new Font("Arial", Font.BOLD, 24));
-        levelLabel.setForeground(new Color(120, 255, 255));
-        levelLabel.setBounds(0, 110, 420, 32);
-        panel.add(levelLabel);
-
-        JLabel highScoreLabelVal = new JLabel("High Score: " + gameManager.getHighScore() + " m", SwingConstants.CENTER);
-        highScoreLabelVal.setFont(new Font("Arial", Font.BOLD, 22));
-        highScoreLabelVal.setForeground(new Color(100, 255, 100));
-        highScoreLabelVal.setBounds(0, 150, 420, 30);
-        panel.add(highScoreLabelVal);
-
         JButton retryBtn = new JButton("Retry");
         retryBtn.setFont(new Font("Arial", Font.BOLD, 22));
         retryBtn.setBackground(new Color(60, 180, 255));
@@ -92,6 +84,12 @@ public class GameOverScreen {
         gameOverDialog.setVisible(true);
     }
     
+    private static void drawCentered(Graphics2D g2d, GlyphAtlas text, String line, int rowY, int rowHeight) {
+        int x = (DIALOG_WIDTH - text.stringWidth(line)) / 2;
+        int y = rowY + (rowHeight - text.getHeight()) / 2 + text.getAscent();
+        text.drawString(g2d, line, x, y);
+    }
+
     public boolean isVisible() {
         return gameOverDialog != null && gameOverDialog.isVisible();
     }
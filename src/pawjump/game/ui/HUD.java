@@ -3,16 +3,58 @@ package pawjump.game.ui;
 import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import pawjump.game.GameManager;
 import pawjump.game.entities.Player;
+import pawjump.game.render.GlyphAtlas;
 import pawjump.game.utils.Constants;
 
+/**
+ * Retained HUD: the score box, health bar and level-up banner are each kept
+ * in a cached image (see HudPanel) and redrawn only when the values they show
+ * change. The score digits, which change every few ticks, are drawn live from
+ * a glyph atlas, so a normal frame is a few blits and allocates nothing.
+ */
 public class HUD {
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 32);
+    private static final Font LEVEL_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font INFO_FONT = new Font("Arial", Font.BOLD, 22);
+    private static final Font HEALTH_LABEL_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font LEVEL_UP_FONT = new Font("Arial", Font.BOLD, 36);
+    private static final Color SCORE_BOX_COLOR = new Color(20, 20, 30);
+    private static final Color HEALTH_BOX_COLOR = new Color(30, 30, 40);
+    private static final Color LEVEL_UP_BOX_COLOR = new Color(30, 30, 30);
+    private static final Color GOLD = new Color(255, 215, 0);
+    private static final Color SPEED_COLOR = new Color(120, 255, 120);
+    private static final Color FISH_COLOR = new Color(80, 200, 255);
+    private static final AlphaComposite LOST_HEART_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.25f);
+    private static final int SCORE_BOX_X = 20;
+    private static final int SCORE_BOX_Y = 20;
+    private static final int SCORE_TEXT_X = SCORE_BOX_X + 18;
+    private static final int SCORE_TEXT_Y = SCORE_BOX_Y + 34;
+    private static final String SCORE_LABEL = "Score: ";
+
     private Image healthImage;
 
+    private final GlyphAtlas scoreText = GlyphAtlas.get(SCORE_FONT, Color.WHITE);
+    private final GlyphAtlas levelText = GlyphAtlas.get(LEVEL_FONT, GOLD);
+    private final GlyphAtlas speedText = GlyphAtlas.get(INFO_FONT, SPEED_COLOR);
+    private final GlyphAtlas fishText = GlyphAtlas.get(INFO_FONT, FISH_COLOR);
+    private final GlyphAtlas healthLabelText = GlyphAtlas.get(HEALTH_LABEL_FONT, Color.WHITE);
+    private final GlyphAtlas levelUpText = GlyphAtlas.get(LEVEL_UP_FONT, GOLD);
+    private final int scoreValueX = SCORE_TEXT_X + scoreText.stringWidth(SCORE_LABEL);
+
+    private final HudPanel scorePanel = new HudPanel();
+    private final HudPanel healthPanel = new HudPanel();
+    private final HudPanel levelUpPanel = new HudPanel();
+    // Values each panel was last drawn with
+    private int shownLevel;
+    private double shownSpeed;
+    private int shownFish;
+    private int shownHealth;
+    private int shownLevelUpLevel;
+
     public HUD() {
         this.healthImage = pawjump.game.utils.AssetLoader.loadImage(Constants.HEALTH_IMG);
     }
@@ -24,41 +66,61 @@ public class HUD {
     }
 
     private void drawScoreAndLevelInfo(Graphics2D g2d, GameManager gameManager) {
-        int scoreBoxX = 20;
-        int scoreBoxY = 20;
+        int level = gameManager.getCurrentLevel();
+        double speed = gameManager.getSpeedMultiplier();
+        int fish = gameManager.getFishCollectedThisLevel();
+        if (scorePanel.isStale() || level != shownLevel || speed != shownSpeed || fish != shownFish) {
+            renderScoreAndLevelInfo(level, speed, fish);
+            shownLevel = level;
+            shownSpeed = speed;
+            shownFish = fish;
+        }
+        scorePanel.draw(g2d);
+
+        // The score changes every few ticks, so its digits are drawn live from the glyph atlas
+        int x = scoreText.drawInt(g2d, gameManager.getScore(), scoreValueX, SCORE_TEXT_Y);
+        scoreText.drawString(g2d, " m", x, SCORE_TEXT_Y);
+    }
+
+    private void renderScoreAndLevelInfo(int level, double speed, int fish) {
         int scoreBoxW = 340;
         int scoreBoxH = 170; // Adjusted for more info
 
-        // Save original composite
-        java.awt.Composite oldComposite = g2d.getComposite();
+        Graphics2D g2d = scorePanel.begin(SCORE_BOX_X, SCORE_BOX_Y, scoreBoxW, scoreBoxH);
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.65f));
-        g2d.setColor(new Color(20, 20, 30));
-        g2d.fillRoundRect(scoreBoxX, scoreBoxY, scoreBoxW, scoreBoxH, 28, 28);
-        g2d.setComposite(oldComposite); // Restore
-
-        int textX = scoreBoxX + 18;
-        int textY = scoreBoxY + 34;
-
-        g2d.setFont(new Font("Arial", Font.BOLD, 32));
-        g2d.setColor(Color.WHITE);
-        g2d.drawString("Score: " + gameManager.getScore() + " m", textX, textY);
-
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
-        g2d.setColor(new Color(255, 215, 0));
-        g2d.drawString("Level: " + gameManager.getCurrentLevel(), textX, textY + 30);
-
-        g2d.setFont(new Font("Arial", Font.BOLD, 22));
-        g2d.setColor(new Color(120, 255, 120));
-        String speedText = String.format("Speed: %.1fx", gameManager.getSpeedMultiplier());
-        g2d.drawString(speedText, textX, textY + 60 + 28); // Adjusted Y
-
-        g2d.setFont(new Font("Arial", Font.BOLD, 22));
-        g2d.setColor(new Color(80, 200, 255));
-        String fishText = String.format("Fish Collected: %d/%d", gameManager.getFishCollectedThisLevel(), Constants.FISH_NEEDED_PER_LEVEL);
-        g2d.drawString(fishText, textX, textY + 88 + 28); // Adjusted Y
+        g2d.setColor(SCORE_BOX_COLOR);
+        g2d.fillRoundRect(SCORE_BOX_X, SCORE_BOX_Y, scoreBoxW, scoreBoxH, 28, 28);
+        g2d.setComposite(AlphaComposite.SrcOver);
+
+        int textX = SCORE_TEXT_X;
+        int textY = SCORE_TEXT_Y;
+
+        scoreText.drawString(g2d, SCORE_LABEL, textX, textY);
+
+        int x = levelText.drawString(g2d, "Level: ", textX, textY + 30);
+        levelText.drawInt(g2d, level, x, textY + 30);
+
+        x = speedText.drawString(g2d, "Speed: ", textX, textY + 60 + 28); // Adjusted Y
+        x = speedText.drawDecimal(g2d, speed, 1, x, textY + 60 + 28);
+        speedText.drawChar(g2d, 'x', x, textY + 60 + 28);
+
+        x = fishText.drawString(g2d, "Fish Collected: ", textX, textY + 88 + 28); // Adjusted Y
+        x = fishText.drawInt(g2d, fish, x, textY + 88 + 28);
+        x = fishText.drawChar(g2d, '/', x, textY + 88 + 28);
+        fishText.drawInt(g2d, Constants.FISH_NEEDED_PER_LEVEL, x, textY + 88 + 28);
+        g2d.dispose();
     }
 
     private void drawHealthBar(Graphics2D g2d, Player player) {
+        int health = player.getHealth();
+        if (healthPanel.isStale() || health != shownHealth) {
+            renderHealthBar(health);
+            shownHealth = health;
+        }
+        healthPanel.draw(g2d);
+    }
+
+    private void renderHealthBar(int health) {
         int barWidth = Constants.PLAYER_MAX_HEALTH * 48;
         int barHeight = 60; 
         int rightMargin = 50;
@@ -67,65 +129,68 @@ public class HUD {
         int groupX = Constants.SCREEN_WIDTH - groupWidth - rightMargin;
         int groupY = healthBoxPadding;
 
-        // Save original composite
-        java.awt.Composite oldComposite = g2d.getComposite();
+        int boxX = groupX - 16;
+        int boxY = groupY - 12;
+        int boxW = groupWidth + 32;
+        int boxH = barHeight + 44;
+        Graphics2D g2d = healthPanel.begin(boxX, boxY, boxW, boxH);
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f));
-        g2d.setColor(new Color(30, 30, 40));
-        g2d.fillRoundRect(groupX - 16, groupY - 12, groupWidth + 32, barHeight + 44, 28, 28);
-        g2d.setComposite(oldComposite); // Restore
+        g2d.setColor(HEALTH_BOX_COLOR);
+        g2d.fillRoundRect(boxX, boxY, boxW, boxH, 28, 28);
+        g2d.setComposite(AlphaComposite.SrcOver);
 
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
-        g2d.setColor(Color.WHITE);
         String healthLabel = "Remaining Health";
-        FontMetrics fm = g2d.getFontMetrics();
-        int labelWidth = fm.stringWidth(healthLabel);
+        int labelWidth = healthLabelText.stringWidth(healthLabel);
         int labelX = groupX + (groupWidth - labelWidth) / 2;
         int labelY = groupY + 18;
-        g2d.drawString(healthLabel, labelX, labelY);
+        healthLabelText.drawString(g2d, healthLabel, labelX, labelY);
 
         int heartsStartX = groupX + (groupWidth - barWidth) / 2;
         int heartsY = labelY + 8;
         for (int i = 0; i < Constants.PLAYER_MAX_HEALTH; i++) {
             int heartX = heartsStartX + i * 48;
             int heartYPos = heartsY;
-            
-            oldComposite = g2d.getComposite(); // Save before potential alpha change
-            if (i < player.getHealth()) {
-                g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
-            } else {
-                g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.25f));
-            }
+
+            // Lost hearts are drawn faded
+            g2d.setComposite(i < health ? AlphaComposite.SrcOver : LOST_HEART_COMPOSITE);
             if (healthImage != null) {
                  g2d.drawImage(healthImage, heartX, heartYPos, 40, 40, null);
             }
-            g2d.setComposite(oldComposite); // Restore
         }
+        g2d.dispose();
     }
 
     private void drawLevelUpMessage(Graphics2D g2d, GameManager gameManager) {
         if (gameManager.isLevelUpMessageActive()) {
-            String levelUpMsg = "Congratulations! You reached level " + gameManager.getCurrentLevel() + "!";
-            g2d.setFont(new Font("Arial", Font.BOLD, 36));
-            FontMetrics fmLevelUp = g2d.getFontMetrics();
-            int msgWidthLevelUp = fmLevelUp.stringWidth(levelUpMsg);
-            int msgHeightLevelUp = fmLevelUp.getHeight();
-            int xLevelUp = (Constants.SCREEN_WIDTH - msgWidthLevelUp) / 2;
-            int yLevelUp = (Constants.SCREEN_HEIGHT - msgHeightLevelUp) / 2 + fmLevelUp.getAscent();
-
-            int padX = 32, padY = 18;
-            int bgXval = xLevelUp - padX;
-            int bgYval = yLevelUp - fmLevelUp.getAscent() - padY / 2;
-            int bgW = msgWidthLevelUp + padX * 2;
-            int bgH = msgHeightLevelUp + padY;
-
-            java.awt.Composite oldComposite = g2d.getComposite();
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f));
-            g2d.setColor(new Color(30, 30, 30));
-            g2d.fillRoundRect(bgXval, bgYval, bgW, bgH, 32, 32);
-            g2d.setComposite(oldComposite);
-
-            g2d.setColor(new Color(255, 215, 0));
-            g2d.drawString(levelUpMsg, xLevelUp, yLevelUp);
+            int level = gameManager.getCurrentLevel();
+            if (levelUpPanel.isStale() || level != shownLevelUpLevel) {
+                renderLevelUpMessage(level);
+                shownLevelUpLevel = level;
+            }
+            levelUpPanel.draw(g2d);
         }
     }
+
+    private void renderLevelUpMessage(int level) {
+        String levelUpMsg = "Congratulations! You reached level " + level + "!";
+        int msgWidthLevelUp = levelUpText.stringWidth(levelUpMsg); // The panel is sized to the message
+        int msgHeightLevelUp = levelUpText.getHeight();
+        int xLevelUp = (Constants.SCREEN_WIDTH - msgWidthLevelUp) / 2;
+        int yLevelUp = (Constants.SCREEN_HEIGHT - msgHeightLevelUp) / 2 + levelUpText.getAscent();
+
+        int padX = 32, padY = 18;
+        int bgXval = xLevelUp - padX;
+        int bgYval = yLevelUp - levelUpText.getAscent() - padY / 2;
+        int bgW = msgWidthLevelUp + padX * 2;
+        int bgH = msgHeightLevelUp + padY;
+
+        Graphics2D g2d = levelUpPanel.begin(bgXval, bgYval, bgW, bgH);
+        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f));
+        g2d.setColor(LEVEL_UP_BOX_COLOR);
+        g2d.fillRoundRect(bgXval, bgYval, bgW, bgH, 32, 32);
+        g2d.setComposite(AlphaComposite.SrcOver);
+
+        levelUpText.drawString(g2d, levelUpMsg, xLevelUp, yLevelUp);
+        g2d.dispose();
+    }
 }
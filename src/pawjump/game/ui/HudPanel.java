@@ -0,0 +1,61 @@
+package pawjump.game.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import pawjump.game.render.BlitStats;
+import pawjump.game.render.CompatibleImages;
+
+/**
+ * One element of the HUD rendered into a cached translucent image. The owner
+ * redraws it only when the values it shows change; every other frame it is a
+ * single blit.
+ */
+class HudPanel {
+    private BufferedImage image;
+    private int x;
+    private int y;
+    private int generation = -1;
+
+    // True when the image has to be redrawn regardless of its inputs (first use, device change)
+    boolean isStale() {
+        return image == null || generation != CompatibleImages.getGeneration();
+    }
+
+    /**
+     * Starts redrawing the panel at the given screen bounds. The returned
+     * graphics is cleared and translated, so callers draw in screen
+     * coordinates; they must dispose it.
+     */
+    Graphics2D begin(int x, int y, int width, int height) {
+        if (isStale() || image.getWidth() != width || image.getHeight() != height) {
+            image = CompatibleImages.create(width, height, Transparency.TRANSLUCENT);
+            generation = CompatibleImages.getGeneration();
+        }
+        this.x = x;
+        this.y = y;
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        applyHints(g);
+        g.translate(-x, -y);
+        return g;
+    }
+
+    private static void applyHints(Graphics2D g) {
+        // Same hints the scene is drawn with
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    }
+
+    void draw(Graphics2D g2d) {
+        if (image != null) {
+            g2d.drawImage(image, x, y, null);
+            BlitStats.record(g2d, image);
+        }
+    }
+}
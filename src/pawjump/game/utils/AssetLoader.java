@@ -5,15 +5,53 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.ImageIcon;
+import pawjump.game.render.CompatibleImages;
 
 public class AssetLoader {
+    private static final Map<String, Image> imageCache = new ConcurrentHashMap<>();
+
     /**
      * Loads an image from the resources folder using the class loader.
+     * Each path is decoded once; callers share the returned image and must not draw into it.
+     * The image is converted to the display's pixel format so it can be blitted accelerated.
      */
     public static Image loadImage(String path) {
+        Image cached = imageCache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        Image image = decode(path);
+        if (image != null) {
+            imageCache.put(path, image);
+        }
+        return image;
+    }
+
+    /**
+     * Decodes every loaded image again into the current display format (see
+     * CompatibleImages). Holders of the old copies pick up the new ones by
+     * loading again once the generation changes; collision masks carry over.
+     */
+    public static void reconvertImages() {
+        for (Map.Entry<String, Image> entry : imageCache.entrySet()) {
+            Image image = decode(entry.getKey());
+            if (image != null) {
+                CollisionMask.transfer(entry.getValue(), image);
+                entry.setValue(image);
+            }
+        }
+    }
+
+    private static Image decode(String path) {
         try {
-            return new ImageIcon(AssetLoader.class.getResource(path)).getImage();
+            Image image = new ImageIcon(AssetLoader.class.getResource(path)).getImage();
+            if (image.getWidth(null) > 0 && image.getHeight(null) > 0) {
+                image = CompatibleImages.toCompatible(image);
+            }
+            return image;
         } catch (Exception e) {
             System.err.println("Could not load image: " + path);
             return null;
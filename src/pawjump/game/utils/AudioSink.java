@@ -0,0 +1,16 @@
+package pawjump.game.utils;
+
+/**
+ * The game events the simulation can make noise for. AudioManager plays them
+ * through the sound card; NullAudioSink drops them for headless runs.
+ */
+public interface AudioSink {
+    void playFishSound();
+    void playHurtSound();
+    void playMeatSound();
+    void playSuplemenSound();
+    void playGameOverSound();
+    void startBackgroundMusic();
+    void stopBackgroundMusic();
+    void setMusicSpeed(double speedMultiplier); // Called every tick; must be cheap
+}
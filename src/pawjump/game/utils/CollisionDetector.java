@@ -1,5 +1,347 @@
 package pawjump.game.utils;
 
+import java.util.Arrays;
+
+/**
+ * Broadphase for the player against everything scrolling past. Each tick the
+ * GameManager registers the boxes of its obstacles and items, then queries
+ * with the player's box and gets back contact events (kind plus list index).
+ *
+ * Boxes are kept in primitive arrays and sorted by their left edge (sweep and
+ * prune along the scroll axis). Boxes keep their relative order from tick to
+ * tick, so the insertion sort is close to linear, and a query only looks at
+ * the few boxes whose x range can reach the player. Arrays grow on demand and
+ * are reused, so a tick produces no garbage.
+ *
+ * Tests are swept: each box moves linearly from where it was at the start of
+ * the tick to where it is now, and a contact is reported if the player's box
+ * and the other box overlap at any moment of the tick, with its time of
+ * impact. At high speed multipliers an obstacle can travel further than the
+ * player is wide in one tick, so a test of the end positions alone would let
+ * it pass straight through. The broadphase sorts each box's swept extent.
+ *
+ * Boxes are whole-pixel, like Rectangle.intersects on Entity.getBounds(), and
+ * boxes that did not move give exactly the old result.
+ *
+ * Sprites register with their CollisionMask: the box is the mask's tight
+ * bounds, and once two boxes meet during the tick the masks are tested along
+ * the overlapping stretch of the motion, one pixel of relative movement at a
+ * time, so only pairs that really touch on screen become contacts.
+ */
 public class CollisionDetector {
-  
+    public static final int KIND_OBSTACLE = 0;
+    public static final int KIND_ITEM = 1;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    // Registered boxes at the start and end of the tick
+    private int count;
+    private int[] startLeft = new int[INITIAL_CAPACITY];
+    private int[] startTop = new int[INITIAL_CAPACITY];
+    private int[] endLeft = new int[INITIAL_CAPACITY];
+    private int[] endTop = new int[INITIAL_CAPACITY];
+    private int[] widths = new int[INITIAL_CAPACITY];
+    private int[] heights = new int[INITIAL_CAPACITY];
+    private CollisionMask[] masks = new CollisionMask[INITIAL_CAPACITY]; // Null for solid boxes
+    // Swept extent along x used by the broadphase; right is exclusive
+    private int[] left = new int[INITIAL_CAPACITY];
+    private int[] right = new int[INITIAL_CAPACITY];
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private int[] indices = new int[INITIAL_CAPACITY];
+    private int[] order = new int[INITIAL_CAPACITY]; // Box slots sorted by left edge
+    private int countAtLastSort; // Size of the order carried over from the last sort
+    private int maxWidth; // Widest swept extent
+    private boolean sorted;
+
+    // Contacts of the last query as (kind << 32 | index), in kind then index order
+    private long[] contacts = new long[8];
+    private double[] contactTimes = new double[8];
+    private int contactCount;
+
+    // Overlap interval of the last sweep, as fractions of the tick
+    private double sweepEnter;
+    private double sweepExit;
+
+    public void clear() {
+        count = 0;
+        maxWidth = 0;
+        sorted = false;
+    }
+
+    // A box that didn't move this tick
+    public void add(int kind, int index, double x, double y, int width, int height) {
+        add(kind, index, x, y, x, y, width, height);
+    }
+
+    // A box that moved from (startX, startY) to (x, y) during this tick
+    public void add(int kind, int index, double startX, double startY, double x, double y, int width, int height) {
+        addBox(kind, index, (int) startX, (int) startY, (int) x, (int) y, width, height, null);
+    }
+
+    // A sprite whose drawn image moved its top-left from (startX, startY) to (x, y) during this tick
+    public void add(int kind, int index, double startX, double startY, double x, double y, CollisionMask mask) {
+        addBox(kind, index, (int) startX + mask.getLeft(), (int) startY + mask.getTop(),
+                (int) x + mask.getLeft(), (int) y + mask.getTop(), mask.getWidth(), mask.getHeight(), mask);
+    }
+
+    private void addBox(int kind, int index, int startX, int startY, int x, int y, int width, int height, CollisionMask mask) {
+        if (width <= 0 || height <= 0) {
+            return; // Empty boxes never intersect anything, like Rectangle
+        }
+        if (count == left.length) {
+            grow();
+        }
+        int slot = count;
+        startLeft[slot] = startX;
+        startTop[slot] = startY;
+        endLeft[slot] = x;
+        endTop[slot] = y;
+        widths[slot] = width;
+        heights[slot] = height;
+        masks[slot] = mask;
+        left[slot] = Math.min(startLeft[slot], endLeft[slot]);
+        right[slot] = Math.max(startLeft[slot], endLeft[slot]) + width;
+        kinds[slot] = kind;
+        indices[slot] = index;
+        // Start from the previous tick's order: boxes registered in the same sequence stay nearly sorted
+        if (slot >= countAtLastSort) {
+            order[slot] = slot;
+        }
+        maxWidth = Math.max(maxWidth, right[slot] - left[slot]);
+        count++;
+        sorted = false;
+    }
+
+    // Finds every registered box overlapping the given box that didn't move
+    public int query(double x, double y, int width, int height) {
+        return query(x, y, x, y, width, height);
+    }
+
+    /**
+     * Finds every registered box that overlaps the given moving box at some
+     * point during the tick. Returns the number of contacts, read back with
+     * getContactKind/getContactIndex/getContactTime.
+     */
+    public int query(double startX, double startY, double x, double y, int width, int height) {
+        return queryBox((int) startX, (int) startY, (int) x, (int) y, width, height, null);
+    }
+
+    // Same for a sprite, with (startX, startY) and (x, y) the top-left of its drawn image
+    public int query(double startX, double startY, double x, double y, CollisionMask mask) {
+        return queryBox((int) startX + mask.getLeft(), (int) startY + mask.getTop(),
+                (int) x + mask.getLeft(), (int) y + mask.getTop(), mask.getWidth(), mask.getHeight(), mask);
+    }
+
+    private int queryBox(int qStartLeft, int qStartTop, int qEndLeft, int qEndTop, int width, int height, CollisionMask mask) {
+        contactCount = 0;
+        if (width <= 0 || height <= 0 || count == 0) {
+            return 0;
+        }
+        sortByLeftEdge();
+        int qLeft = Math.min(qStartLeft, qEndLeft);
+        int qRight = Math.max(qStartLeft, qEndLeft) + width;
+
+        // Nothing starting at or before qLeft - maxWidth can reach qLeft
+        for (int i = firstWithLeftAbove(qLeft - maxWidth); i < count; i++) {
+            int slot = order[i];
+            if (left[slot] >= qRight) {
+                break; // Sorted by left edge: everything after starts right of the query
+            }
+            if (right[slot] <= qLeft) {
+                continue;
+            }
+            // Motion of the query box relative to this box
+            int startDx = qStartLeft - startLeft[slot];
+            int endDx = qEndLeft - endLeft[slot];
+            int startDy = qStartTop - startTop[slot];
+            int endDy = qEndTop - endTop[slot];
+            if (!sweep(startDx, endDx, width, widths[slot], startDy, endDy, height, heights[slot])) {
+                continue;
+            }
+            double time = Math.max(sweepEnter, 0);
+            if (mask != null || masks[slot] != null) {
+                time = firstPixelContact(mask, width, height, slot, startDx, endDx, startDy, endDy);
+            }
+            if (time >= 0) {
+                addContact(kinds[slot], indices[slot], time);
+            }
+        }
+        return contactCount;
+    }
+
+    public int getContactKind(int contact) {
+        return (int) (contacts[contact] >>> 32);
+    }
+
+    public int getContactIndex(int contact) {
+        return (int) contacts[contact];
+    }
+
+    // Fraction of the tick (0..1) at which the boxes first touched, 0 if they already overlapped
+    public double getContactTime(int contact) {
+        return contactTimes[contact];
+    }
+
+    /**
+     * Whether two linearly moving boxes overlap at some time in [0, 1], and
+     * if so the interval they overlap in (sweepEnter, sweepExit). Offsets are
+     * A's position minus B's at the start and end of the tick; boxes overlap
+     * while -aSize < offset < bSize on both axes (the open intervals
+     * Rectangle.intersects uses).
+     */
+    private boolean sweep(int startDx, int endDx, int aWidth, int bWidth,
+                          int startDy, int endDy, int aHeight, int bHeight) {
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+
+        int moveX = endDx - startDx;
+        if (moveX == 0) {
+            if (startDx <= -aWidth || startDx >= bWidth) {
+                return false;
+            }
+        } else {
+            double t1 = (double) (-aWidth - startDx) / moveX;
+            double t2 = (double) (bWidth - startDx) / moveX;
+            enter = Math.min(t1, t2);
+            exit = Math.max(t1, t2);
+        }
+
+        int moveY = endDy - startDy;
+        if (moveY == 0) {
+            if (startDy <= -aHeight || startDy >= bHeight) {
+                return false;
+            }
+        } else {
+            double t1 = (double) (-aHeight - startDy) / moveY;
+            double t2 = (double) (bHeight - startDy) / moveY;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        // Open overlap interval (enter, exit) must meet the tick [0, 1]
+        sweepEnter = enter;
+        sweepExit = exit;
+        return enter < exit && enter < 1 && exit > 0;
+    }
+
+    /**
+     * Steps the query's offset from the given slot through the stretch of
+     * the tick where their boxes overlap, at most one pixel per axis per
+     * step, and returns the first time their masks touch, or -1. A null
+     * mask is a solid box.
+     */
+    private double firstPixelContact(CollisionMask mask, int width, int height, int slot,
+                                     int startDx, int endDx, int startDy, int endDy) {
+        double from = Math.max(sweepEnter, 0);
+        double to = Math.min(sweepExit, 1);
+        int moveX = endDx - startDx;
+        int moveY = endDy - startDy;
+        int steps = (int) Math.ceil(Math.max(Math.abs(moveX), Math.abs(moveY)) * (to - from));
+        for (int step = 0; step <= steps; step++) {
+            double time = steps == 0 ? from : from + (to - from) * step / steps;
+            int dx = startDx + (int) Math.round(moveX * time);
+            int dy = startDy + (int) Math.round(moveY * time);
+            boolean touching;
+            if (masks[slot] == null) {
+                touching = mask.overlapsBox(-dx, -dy, widths[slot], heights[slot]);
+            } else if (mask == null) {
+                touching = masks[slot].overlapsBox(dx, dy, width, height);
+            } else {
+                touching = masks[slot].overlaps(mask, dx, dy);
+            }
+            if (touching) {
+                return time;
+            }
+        }
+        return -1;
+    }
+
+    // Allocation-free AABB test on primitives, with the same integer truncation as Entity.getBounds()
+    public static boolean intersects(double ax, double ay, int aw, int ah, double bx, double by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) {
+            return false;
+        }
+        int aLeft = (int) ax;
+        int aTop = (int) ay;
+        int bLeft = (int) bx;
+        int bTop = (int) by;
+        return bLeft < aLeft + aw && bTop < aTop + ah && aLeft < bLeft + bw && aTop < bTop + bh;
+    }
+
+    private void sortByLeftEdge() {
+        if (sorted) {
+            return;
+        }
+        // Slots beyond this tick's count may be left over from a busier tick; drop them from the order
+        if (countAtLastSort > count) {
+            int kept = 0;
+            for (int i = 0; i < countAtLastSort; i++) {
+                if (order[i] < count) {
+                    order[kept++] = order[i];
+                }
+            }
+        }
+        // Insertion sort: near linear for the almost sorted order carried over from the last tick
+        for (int i = 1; i < count; i++) {
+            int slot = order[i];
+            int key = left[slot];
+            int j = i - 1;
+            while (j >= 0 && left[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = slot;
+        }
+        countAtLastSort = count;
+        sorted = true;
+    }
+
+    // Binary search for the first position in the order whose box starts right of edge
+    private int firstWithLeftAbove(int edge) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (left[order[mid]] > edge) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private void addContact(int kind, int index, double time) {
+        if (contactCount == contacts.length) {
+            contacts = Arrays.copyOf(contacts, contactCount * 2);
+            contactTimes = Arrays.copyOf(contactTimes, contactCount * 2);
+        }
+        long key = ((long) kind << 32) | (index & 0xFFFFFFFFL);
+        // Keep contacts in kind then index order so they are handled in list order, as before
+        int i = contactCount - 1;
+        while (i >= 0 && contacts[i] > key) {
+            contacts[i + 1] = contacts[i];
+            contactTimes[i + 1] = contactTimes[i];
+            i--;
+        }
+        contacts[i + 1] = key;
+        contactTimes[i + 1] = time;
+        contactCount++;
+    }
+
+    private void grow() {
+        int capacity = left.length * 2;
+        startLeft = Arrays.copyOf(startLeft, capacity);
+        startTop = Arrays.copyOf(startTop, capacity);
+        endLeft = Arrays.copyOf(endLeft, capacity);
+        endTop = Arrays.copyOf(endTop, capacity);
+        widths = Arrays.copyOf(widths, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        masks = Arrays.copyOf(masks, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        indices = Arrays.copyOf(indices, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
 }
@@ -0,0 +1,233 @@
+package pawjump.game.utils;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The opaque pixels of a sprite frame at the size it is drawn, packed one bit
+ * per pixel into 64-bit words per row and cropped to their tight bounding box.
+ * Two masks are tested by ANDing whole words, shifted into line, so a row of
+ * up to 64 pixels costs one or two operations.
+ *
+ * Masks are built once per frame and draw size, when the entities are loaded
+ * (see Entity.prepareCollisionMasks()), and live as long as their frame does:
+ * the cache holds frames weakly, so a frame the sprite caches let go of takes
+ * its masks with it. The source is sampled nearest neighbour, the same way the
+ * scaled copies are drawn, so the mask matches what is on screen.
+ */
+public final class CollisionMask {
+    private static final Map<Image, Sizes> cache = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicInteger builds = new AtomicInteger();
+
+    private final int left; // Tight bounds within the drawn image
+    private final int top;
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits; // Row-major, bit i of a word is the pixel i columns right of the word's first column
+
+    private CollisionMask(int left, int top, int width, int height, long[] bits) {
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.bits = bits;
+    }
+
+    public static CollisionMask get(Image frame, int drawWidth, int drawHeight) {
+        if (frame == null || drawWidth <= 0 || drawHeight <= 0) {
+            return null;
+        }
+        Sizes sizes = cache.get(frame);
+        if (sizes == null) {
+            sizes = cache.computeIfAbsent(frame, k -> new Sizes());
+        }
+        return sizes.get(frame, drawWidth, drawHeight);
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+
+    // Masks built so far; stays put during play once the entities are loaded
+    public static int getBuildCount() {
+        return builds.get();
+    }
+
+    // Hands the masks built for one image to a copy of it in another pixel format, which has the same opaque pixels
+    public static void transfer(Image from, Image to) {
+        if (from != null && to != null && from != to) {
+            Sizes sizes = cache.remove(from);
+            if (sizes != null) {
+                cache.put(to, sizes);
+            }
+        }
+    }
+
+    private static CollisionMask build(Image frame, int drawWidth, int drawHeight) {
+        builds.incrementAndGet();
+        BufferedImage source = toBuffered(frame);
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        int[] sourceRow = new int[sourceWidth];
+        int[] sampleX = new int[drawWidth];
+        for (int px = 0; px < drawWidth; px++) {
+            sampleX[px] = (int) ((px + 0.5) * sourceWidth / drawWidth); // Pixel centers, as nearest neighbour scaling does
+        }
+
+        // Sample every drawn pixel once, tracking the tight bounds as we go
+        boolean[] opaque = new boolean[drawWidth * drawHeight];
+        int minX = drawWidth, minY = drawHeight, maxX = -1, maxY = -1;
+        for (int py = 0; py < drawHeight; py++) {
+            source.getRGB(0, (int) ((py + 0.5) * sourceHeight / drawHeight), sourceWidth, 1, sourceRow, 0, sourceWidth);
+            for (int px = 0; px < drawWidth; px++) {
+                if ((sourceRow[sampleX[px]] >>> 24) >= Constants.COLLISION_ALPHA_THRESHOLD) {
+                    opaque[py * drawWidth + px] = true;
+                    minX = Math.min(minX, px);
+                    maxX = Math.max(maxX, px);
+                    minY = Math.min(minY, py);
+                    maxY = Math.max(maxY, py);
+                }
+            }
+        }
+        if (maxX < 0) {
+            return new CollisionMask(0, 0, 0, 0, new long[0]); // Fully transparent: touches nothing
+        }
+
+        int width = maxX - minX + 1;
+        int height = maxY - minY + 1;
+        int wordsPerRow = (width + 63) >>> 6;
+        long[] bits = new long[wordsPerRow * height];
+        for (int row = 0; row < height; row++) {
+            int rowStart = (minY + row) * drawWidth + minX;
+            for (int col = 0; col < width; col++) {
+                if (opaque[rowStart + col]) {
+                    bits[row * wordsPerRow + (col >>> 6)] |= 1L << (col & 63);
+                }
+            }
+        }
+        return new CollisionMask(minX, minY, width, height, bits);
+    }
+
+    private static BufferedImage toBuffered(Image frame) {
+        if (frame instanceof BufferedImage) {
+            return (BufferedImage) frame;
+        }
+        BufferedImage copy = new BufferedImage(Math.max(frame.getWidth(null), 1), Math.max(frame.getHeight(null), 1),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(frame, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    /**
+     * True if any pixel of this mask is also set in other, with other's
+     * bounding box offset by (dx, dy) from this one's.
+     */
+    public boolean overlaps(CollisionMask other, int dx, int dy) {
+        int firstRow = Math.max(0, dy);
+        int lastRow = Math.min(height, dy + other.height);
+        int firstCol = Math.max(0, dx);
+        int lastCol = Math.min(width, dx + other.width);
+        if (firstRow >= lastRow || firstCol >= lastCol) {
+            return false;
+        }
+        int firstWord = firstCol >>> 6;
+        int lastWord = (lastCol - 1) >>> 6;
+        for (int row = firstRow; row < lastRow; row++) {
+            int base = row * wordsPerRow;
+            for (int k = firstWord; k <= lastWord; k++) {
+                long mine = bits[base + k];
+                // Other's columns outside its mask come back as zeros, so no edge masking is needed
+                if (mine != 0 && (mine & other.bitsAt(row - dy, (k << 6) - dx)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // True if any pixel of this mask lies in the box at (boxX, boxY) relative to this mask's bounding box
+    public boolean overlapsBox(int boxX, int boxY, int boxWidth, int boxHeight) {
+        int firstRow = Math.max(0, boxY);
+        int lastRow = Math.min(height, boxY + boxHeight);
+        int firstCol = Math.max(0, boxX);
+        int lastCol = Math.min(width, boxX + boxWidth);
+        if (firstRow >= lastRow || firstCol >= lastCol) {
+            return false;
+        }
+        int firstWord = firstCol >>> 6;
+        int lastWord = (lastCol - 1) >>> 6;
+        for (int row = firstRow; row < lastRow; row++) {
+            int base = row * wordsPerRow;
+            for (int k = firstWord; k <= lastWord; k++) {
+                int from = Math.max(firstCol - (k << 6), 0);
+                int to = Math.min(lastCol - (k << 6), 64);
+                long columns = (to == 64 ? -1L : (1L << to) - 1) & (-1L << from);
+                if ((bits[base + k] & columns) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // The 64 pixels of a row starting at col, which may lie partly or wholly outside the mask
+    private long bitsAt(int row, int col) {
+        if (col <= -64 || col >= width) {
+            return 0;
+        }
+        int base = row * wordsPerRow;
+        if (col < 0) {
+            return bits[base] << -col;
+        }
+        int k = col >>> 6;
+        int shift = col & 63;
+        long value = bits[base + k] >>> shift;
+        if (shift != 0 && k + 1 < wordsPerRow) {
+            value |= bits[base + k + 1] << (64 - shift);
+        }
+        return value;
+    }
+
+    // Offset of the tight bounds from the top-left of the drawn image
+    public int getLeft() { return left; }
+    public int getTop() { return top; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    // The few sizes one frame is drawn at; searched linearly so lookups don't allocate
+    private static final class Sizes {
+        private int[] widths = new int[2];
+        private int[] heights = new int[2];
+        private CollisionMask[] masks = new CollisionMask[2];
+        private int count;
+
+        synchronized CollisionMask get(Image frame, int width, int height) {
+            for (int i = 0; i < count; i++) {
+                if (widths[i] == width && heights[i] == height) {
+                    return masks[i];
+                }
+            }
+            if (count == masks.length) {
+                widths = Arrays.copyOf(widths, count * 2);
+                heights = Arrays.copyOf(heights, count * 2);
+                masks = Arrays.copyOf(masks, count * 2);
+            }
+            CollisionMask mask = build(frame, width, height);
+            widths[count] = width;
+            heights[count] = height;
+            masks[count] = mask;
+            count++;
+            return mask;
+        }
+    }
+}
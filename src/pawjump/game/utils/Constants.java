@@ -15,6 +15,7 @@ public class Constants {
     public static final int PLAYER_MAX_HEALTH = 4;
     public static final int PLAYER_JUMP_VELOCITY = -30; // Negative for upward movement
     public static final int PLAYER_GRAVITY = 2;
+    public static final double PLAYER_FALL_VELOCITY_FACTOR = 0.8; // fall() turns upward speed into this much downward speed
     public static final double PLAYER_SPRITE_SCALE_NORMAL = 3.0;
     public static final double PLAYER_SPRITE_SCALE_MEAT_EFFECT = 4.2;
 
@@ -24,13 +25,15 @@ public class Constants {
     public static final int BASE_SPEED = 12; // Base speed for obstacles/items
     public static final double SPEED_INCREMENT_PER_LEVEL = 0.2;
     public static final int METERS_PER_LEVEL = 250;
-    public static final int OBSTACLE_SPAWN_GAP = 170; // Gap after an obstacle goes off-screen
+    public static final double METERS_PER_TICK = (BASE_SPEED / 50.0) * 0.5; // Score distance covered each tick, at any speed
 
     // Item Constants
     public static final int ITEM_WIDTH = 48;
     public static final int ITEM_HEIGHT = 48;
     public static final int FISH_NEEDED_PER_LEVEL = 15;
     public static final int MEAT_EFFECT_DURATION_MS = 3000;
+    public static final int MEAT_EFFECT_DURATION_TICKS = MEAT_EFFECT_DURATION_MS / Constants.GAME_TICK_MS;
+    public static final double MEAT_EFFECT_SPEED_FACTOR = 0.75; // The level scrolls this much slower while it lasts
     public static final int SUPLEMEN_SPAWN_OFFSET = 125; // meters into phase
     public static final int MEAT_SPAWN_OFFSET_1 = 50;    // meters into phase
     public static final int MEAT_SPAWN_OFFSET_2 = 200;   // meters into phase
@@ -47,6 +50,25 @@ public class Constants {
     public static final int OBSTACLE_MOVE_SPEED = 4;
     public static final int OBSTACLE_MOVE_MIN_Y_OFFSET = -350; // Relative to groundY
     public static final int OBSTACLE_MOVE_MAX_Y_OFFSET = -30;  // Relative to groundY
+    public static final double BIRD_SPRITE_SCALE = 1.5; // Birds are drawn larger than their box, centered on it
+    public static final int OBSTACLE_MIN_GAP = 1100; // Pixels between formations at the chunk's level speed
+    public static final int OBSTACLE_MAX_GAP = 1700;
+    public static final int OBSTACLE_PAIR_MIN_SCORE = 250;
+    public static final double OBSTACLE_PAIR_CHANCE = 0.25;
+    public static final int OBSTACLE_PAIR_SPACING_TICKS = 45; // Time to land between two bushes and jump again
+
+    // Level generation (synchronous, on the game loop thread, with -Dpawjump.syncLevelGeneration=true)
+    public static final int LEVEL_CHUNK_METERS = 50; // Divides METERS_PER_LEVEL, so a chunk never spans two speeds
+    public static final int LEVEL_CHUNKS_AHEAD = 4; // Chunks the generator thread keeps ready
+    public static final int FISH_PER_CHUNK = 4;
+    public static final boolean SYNC_LEVEL_GENERATION = Boolean.getBoolean("pawjump.syncLevelGeneration");
+
+    // Entity storage
+    public static final int ENTITY_STORE_CAPACITY = 1024; // Initial slots per store; grows by doubling past this
+    public static final int ENTITY_POOL_CAPACITY = 8; // Spare instances kept per entity type
+
+    // Collision
+    public static final int COLLISION_ALPHA_THRESHOLD = 128; // Sprite pixels at least this opaque are solid
 
 
     // Animation Delays (in game ticks, approx 16ms per tick)
@@ -84,13 +106,32 @@ public class Constants {
     public static final String ITEM_MEAT_IMG = IMAGE_PATH_PREFIX + "meat.png";
     public static final String ITEM_SUPLEMEN_IMG = IMAGE_PATH_PREFIX + "suplemen.png";
 
-    // Audio Files
-    public static final String AUDIO_BG = AUDIO_PATH_PREFIX + "bg.wav";
-    public static final String AUDIO_FISH = AUDIO_PATH_PREFIX + "fish.wav";
-    public static final String AUDIO_GAMEOVER = AUDIO_PATH_PREFIX + "gameover.wav";
-    public static final String AUDIO_HURT = AUDIO_PATH_PREFIX + "hurt.wav";
-    public static final String AUDIO_MEAT = AUDIO_PATH_PREFIX + "meat.wav";
-    public static final String AUDIO_SUPLEMEN = AUDIO_PATH_PREFIX + "suplemen.wav";
+    // Audio Files (IMA-ADPCM, encoded from the WAVs in src/resources/audio when building)
+    public static final String AUDIO_BG = AUDIO_PATH_PREFIX + "bg.adpcm";
+    public static final String AUDIO_FISH = AUDIO_PATH_PREFIX + "fish.adpcm";
+    public static final String AUDIO_GAMEOVER = AUDIO_PATH_PREFIX + "gameover.adpcm";
+    public static final String AUDIO_HURT = AUDIO_PATH_PREFIX + "hurt.adpcm";
+    public static final String AUDIO_MEAT = AUDIO_PATH_PREFIX + "meat.adpcm";
+    public static final String AUDIO_SUPLEMEN = AUDIO_PATH_PREFIX + "suplemen.adpcm";
+
+    // Audio mixing (output "line", "null" or "wav:<file>" with -Dpawjump.audioOutput; block size with -Dpawjump.audioBufferFrames)
+    public static final int AUDIO_COMMAND_QUEUE_CAPACITY = 64; // Play/stop commands waiting for the audio thread
+    public static final int AUDIO_VOICES_PER_EFFECT = 3; // Copies of one effect that can sound at once
+    public static final int AUDIO_MIXER_VOICES = 16; // Sounds mixed at once, music included
+    public static final int AUDIO_SAMPLE_RATE = 44100; // Everything is converted to this on load
+    public static final int AUDIO_BUFFER_FRAMES = Integer.getInteger("pawjump.audioBufferFrames", 512); // Frames mixed per block
+    public static final int AUDIO_LINE_BUFFER_BLOCKS = 2; // Blocks the output line holds ahead of the one being mixed
+    public static final float AUDIO_MUSIC_VOLUME = 0.5f;
+    public static final int AUDIO_MUSIC_RING_FRAMES = 16384; // Decoded music kept ahead of playback, about 0.37 s
+    public static final int AUDIO_MUSIC_CHUNK_FRAMES = 2048; // Decoded at a time
+    public static final int AUDIO_MUSIC_DECODE_MS = 20; // How often the decoder tops the ring up
+    public static final int AUDIO_MUSIC_FADE_MS = 400; // Fade in, fade out and crossfade time
+    public static final float AUDIO_MUSIC_SPEED_FOLLOW = 0.25f; // Share of the game's speed change the music's rate follows
+    public static final float AUDIO_MUSIC_MIN_RATE = 0.8f;
+    public static final float AUDIO_MUSIC_MAX_RATE = 1.5f;
+    public static final int AUDIO_MUSIC_RATE_GLIDE_MS = 250; // Time constant of the music's rate following a speed change
+    public static final String AUDIO_OUTPUT = System.getProperty("pawjump.audioOutput", "line");
+    public static final int AUDIO_CLOSE_TIMEOUT_MS = 1000; // How long exit waits for the audio thread to close the output
 
     // Chasing Character
     public static final String CHASING_CHARACTER_SHEET = IMAGE_PATH_PREFIX + "dog.png";
@@ -104,6 +145,7 @@ public class Constants {
 
     // UI
     public static final int LEVEL_UP_MSG_DURATION_MS = 2000;
+    public static final int LEVEL_UP_MSG_DURATION_TICKS = LEVEL_UP_MSG_DURATION_MS / Constants.GAME_TICK_MS;
 
     // Supplement Effect
     public static final int SUPLEMEN_SPOTLIGHT_RADIUS = 200; // Radius of light around player
@@ -112,7 +154,14 @@ public class Constants {
     // Input
     public static final int JUMP_KEY = KeyEvent.VK_UP;
     public static final int FALL_KEY = KeyEvent.VK_DOWN;
+    public static final int DEBUG_OVERLAY_KEY = KeyEvent.VK_F3;
+
+    // Rendering (opt-in with -Dpawjump.activeRendering=true / -Dpawjump.debugOverlay=true)
+    public static final boolean ACTIVE_RENDERING = Boolean.getBoolean("pawjump.activeRendering");
+    public static final boolean SHOW_DEBUG_OVERLAY = Boolean.getBoolean("pawjump.debugOverlay");
+    public static final long SCALED_IMAGE_CACHE_MAX_BYTES = 32L * 1024 * 1024; // Pre-scaled sprite copies kept at most
 
     // Ticks
-    public static final int GAME_TICK_MS = 16; // For Timer
+    public static final int GAME_TICK_MS = 16; // Fixed simulation step of the game loop
+    public static final int MAX_CATCH_UP_TICKS = 5; // Ticks simulated at most per rendered frame before dropping time
 }
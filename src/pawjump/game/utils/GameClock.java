@@ -0,0 +1,25 @@
+package pawjump.game.utils;
+
+/**
+ * Logical simulation clock. Advances once per GameManager tick, so timed
+ * effects behave the same at any simulation speed.
+ */
+public class GameClock {
+    private long tick;
+
+    public void advance() {
+        tick++;
+    }
+
+    public void reset() {
+        tick = 0;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long ticksSince(long startTick) {
+        return tick - startTick;
+    }
+}
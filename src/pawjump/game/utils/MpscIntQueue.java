@@ -0,0 +1,66 @@
+package pawjump.game.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of non-negative ints for any number of producer
+ * threads and one consumer thread. Producers claim a slot with one CAS and
+ * publish it with an ordered store; nothing blocks or allocates, and a full
+ * queue refuses the value instead of waiting.
+ *
+ * Each slot carries a sequence number saying whose turn it is: equal to the
+ * claiming position when free for a producer, one past it once filled for
+ * the consumer.
+ */
+public final class MpscIntQueue {
+    public static final int EMPTY = -1; // poll() result when there is nothing to take
+
+    private final int[] values;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next position to claim; shared by producers
+    private long head; // Next position to read; consumer only
+
+    // Capacity is rounded up to a power of two
+    public MpscIntQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+        this.values = new int[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    // Any thread; false if the queue is full
+    public boolean offer(int value) {
+        while (true) {
+            long t = tail.get();
+            int index = (int) t & mask;
+            long sequence = sequences.get(index);
+            if (sequence == t) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    values[index] = value;
+                    sequences.lazySet(index, t + 1); // Publishes the value to the consumer
+                    return true;
+                }
+            } else if (sequence < t) {
+                return false; // The consumer hasn't freed this slot from the last lap yet
+            }
+            // Another producer claimed t first; try the next position
+        }
+    }
+
+    // Consumer only; EMPTY if there is nothing to take
+    public int poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return EMPTY;
+        }
+        int value = values[index];
+        sequences.lazySet(index, head + values.length); // Frees the slot for the producers' next lap
+        head++;
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package pawjump.game.utils;
+
+public class NullAudioSink implements AudioSink {
+    @Override public void playFishSound() {}
+    @Override public void playHurtSound() {}
+    @Override public void playMeatSound() {}
+    @Override public void playSuplemenSound() {}
+    @Override public void playGameOverSound() {}
+    @Override public void startBackgroundMusic() {}
+    @Override public void stopBackgroundMusic() {}
+    @Override public void setMusicSpeed(double speedMultiplier) {}
+}
@@ -0,0 +1,62 @@
+package pawjump.game.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer
+ * thread. Each side only ever writes its own counter, so offer() and poll()
+ * are a read of the other side's counter, an array access and an ordered
+ * store; neither side ever blocks or allocates.
+ *
+ * "One consumer" can be several threads taking turns under a common lock,
+ * since the lock orders their accesses the same way a single thread would.
+ */
+public final class SpscQueue<T> {
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to read; written only by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write; written only by the producer
+
+    // Capacity is rounded up to a power of two
+    public SpscQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+        this.slots = new Object[size];
+        this.mask = size - 1;
+    }
+
+    // Producer only; false if the queue is full
+    public boolean offer(T value) {
+        long t = tail.get();
+        if (t - head.get() == slots.length) {
+            return false;
+        }
+        slots[(int) t & mask] = value;
+        tail.lazySet(t + 1); // Publishes the slot write to the consumer
+        return true;
+    }
+
+    // Consumer only; null if the queue is empty
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return null;
+        }
+        int index = (int) h & mask;
+        T value = (T) slots[index];
+        slots[index] = null;
+        head.lazySet(h + 1); // Hands the slot back to the producer
+        return value;
+    }
+
+    // Consumer only; the value poll() would return, left in the queue
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        long h = head.get();
+        return h == tail.get() ? null : (T) slots[(int) h & mask];
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,28 @@
+package pawjump.game.utils;
+
+/**
+ * Tiny incremental 64-bit hash (FNV-1a over longs) used to fingerprint the
+ * simulation state each tick and compare runs for determinism.
+ */
+public final class StateHash {
+    public static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private StateHash() {}
+
+    public static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    public static long mix(long hash, double value) {
+        return mix(hash, Double.doubleToLongBits(value));
+    }
+
+    public static long mix(long hash, boolean value) {
+        return mix(hash, value ? 1L : 0L);
+    }
+}